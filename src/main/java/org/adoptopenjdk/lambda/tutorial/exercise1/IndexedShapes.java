@@ -0,0 +1,209 @@
+package org.adoptopenjdk.lambda.tutorial.exercise1;
+
+/*
+ * #%L
+ * lambda-tutorial
+ * %%
+ * Copyright (C) 2013 Adopt OpenJDK
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 2 of the 
+ * License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public 
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/gpl-2.0.html>.
+ * #L%
+ */
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import static java.util.stream.Collectors.toList;
+
+/**
+ * A collection of shapes indexed by color, which can answer "how many shapes are RED?" without a scan.
+ *
+ * For each Color the collection keeps a bitset of the positions of shapes with that color, and a count of them. The
+ * shapes belong to the collection: calling {@link Shape#setColor(Color)} on one of them updates the index
+ * incrementally. Since membership is held only in the bitsets, recoloring every shape, or every shape of one color,
+ * merges whole bitsets rather than visiting each shape.
+ *
+ * Not safe for use by multiple threads without external synchronization.
+ *
+ * @see Shapes#colorAll(List, Color)
+ */
+public final class IndexedShapes {
+
+    private final List<Shape> shapes = new ArrayList<>();
+    private final EnumMap<Color, ColorIndex> index = new EnumMap<>(Color.class);
+
+    public IndexedShapes() {
+        for (Color color : Color.values()) {
+            index.put(color, new ColorIndex());
+        }
+    }
+
+    /**
+     * Creates an indexed collection with shapes of the same colors as the given <code>shapes</code>, in the same
+     * order. Later changes to the given shapes are not reflected in the index.
+     *
+     * @param shapes - shapes to copy the colors of
+     * @return a new indexed collection
+     */
+    public static IndexedShapes of(List<Shape> shapes) {
+        IndexedShapes indexed = new IndexedShapes();
+        shapes.forEach(shape -> indexed.add(shape.getColor()));
+        return indexed;
+    }
+
+    /**
+     * Adds a new shape of the given <code>color</code>.
+     *
+     * @param color - color of the new shape
+     * @return the new shape, whose color changes are tracked by this index
+     */
+    public Shape add(Color color) {
+        Objects.requireNonNull(color, "color");
+        Shape shape = new IndexedShape(shapes.size(), color);
+        index.get(color).add(shapes.size());
+        shapes.add(shape);
+        return shape;
+    }
+
+    public int size() {
+        return shapes.size();
+    }
+
+    public Shape get(int position) {
+        return shapes.get(position);
+    }
+
+    /**
+     * @return an unmodifiable view of all the shapes, in the order they were added
+     */
+    public List<Shape> asList() {
+        return Collections.unmodifiableList(shapes);
+    }
+
+    /**
+     * @param color - color to count
+     * @return the number of shapes with the given color
+     */
+    public int countOf(Color color) {
+        return index.get(color).count;
+    }
+
+    /**
+     * @return a snapshot of the number of shapes of each Color
+     */
+    public Map<Color, Integer> histogram() {
+        EnumMap<Color, Integer> histogram = new EnumMap<>(Color.class);
+        index.forEach((color, colorIndex) -> histogram.put(color, colorIndex.count));
+        return histogram;
+    }
+
+    /**
+     * @param color - color to look up
+     * @return the shapes with the given color, in the order they were added
+     */
+    public List<Shape> shapesOf(Color color) {
+        return index.get(color).members.stream().mapToObj(shapes::get).collect(toList());
+    }
+
+    /**
+     * Changes the color of all the shapes, setting to <code>newColor</code>. The cost depends on the number of
+     * Colors and the size of their bitsets, rather than on visiting every shape.
+     *
+     * @param newColor - the new color
+     *
+     * @see Shapes#colorAll(List, Color)
+     */
+    public void colorAll(Color newColor) {
+        for (Color color : Color.values()) {
+            recolor(color, newColor);
+        }
+    }
+
+    /**
+     * Changes the color of every shape which currently has color <code>from</code>, setting to <code>to</code>.
+     *
+     * @param from - color of the shapes to change
+     * @param to - the new color
+     */
+    public void recolor(Color from, Color to) {
+        Objects.requireNonNull(to, "to");
+        if (from == to) {
+            return;
+        }
+        ColorIndex source = index.get(from);
+        ColorIndex target = index.get(to);
+        target.members.or(source.members);
+        target.count += source.count;
+        source.members.clear();
+        source.count = 0;
+    }
+
+    private Color colorAt(int position) {
+        for (Map.Entry<Color, ColorIndex> entry : index.entrySet()) {
+            if (entry.getValue().members.get(position)) {
+                return entry.getKey();
+            }
+        }
+        throw new IllegalStateException("Shape at position " + position + " is not indexed");
+    }
+
+    private void move(int position, Color newColor) {
+        Objects.requireNonNull(newColor, "color");
+        Color oldColor = colorAt(position);
+        if (oldColor != newColor) {
+            index.get(oldColor).remove(position);
+            index.get(newColor).add(position);
+        }
+    }
+
+    private static final class ColorIndex {
+        private final BitSet members = new BitSet();
+        private int count;
+
+        void add(int position) {
+            members.set(position);
+            count++;
+        }
+
+        void remove(int position) {
+            members.clear(position);
+            count--;
+        }
+    }
+
+    private final class IndexedShape extends Shape {
+        private final int position;
+
+        IndexedShape(int position, Color color) {
+            super(color);
+            this.position = position;
+        }
+
+        @Override
+        public Color getColor() {
+            return colorAt(position);
+        }
+
+        @Override
+        public void setColor(Color color) {
+            move(position, color);
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package org.adoptopenjdk.lambda.tutorial.exercise1;
+
+/*
+ * #%L
+ * lambda-tutorial
+ * %%
+ * Copyright (C) 2013 Adopt OpenJDK
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 2 of the 
+ * License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public 
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/gpl-2.0.html>.
+ * #L%
+ */
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Parallel versions of the bulk operations on a List of shapes.
+ *
+ * @see Shapes
+ */
+public final class ParallelShapes {
+
+    private static final int PARALLEL_PARTITION_SIZE = 16 * 1024;
+
+    private ParallelShapes() {
+    }
+
+    /**
+     * Performs the same operation as {@link Shapes#changeColorAndMakeStringOfOldColors(List, Color, StringBuilder)},
+     * but partitions the <code>shapes</code> across the common ForkJoinPool.
+     *
+     * Each partition builds the String representation of its own slice and recolors it, then the partial Strings are
+     * appended to <code>stringBuilder</code> in encounter order, so the result is identical to the sequential version.
+     * Lists which do not support fast random access are copied before being partitioned.
+     *
+     * The shapes must be distinct instances. A Shape which appears more than once in the list may be read and
+     * recolored by two partitions at once, without synchronization, and its old color then need not match the result
+     * of the sequential version.
+     *
+     * @param shapes - shapes to change color of
+     * @param newColor - new color
+     * @param stringBuilder - string builder to append to
+     *
+     * @see ForkJoinPool#commonPool()
+     */
+    public static void changeColorAndMakeStringOfOldColors(List<Shape> shapes, Color newColor, StringBuilder stringBuilder) {
+        List<Shape> indexable = shapes instanceof RandomAccess ? shapes : new ArrayList<>(shapes);
+        int partitions = (indexable.size() + PARALLEL_PARTITION_SIZE - 1) / PARALLEL_PARTITION_SIZE;
+        StringBuilder[] segments = new StringBuilder[partitions];
+
+        ForkJoinPool.commonPool().invoke(new RecolorTask(indexable, newColor, segments, 0, partitions));
+
+        int length = 0;
+        for (StringBuilder segment : segments) {
+            length += segment.length();
+        }
+        stringBuilder.ensureCapacity(stringBuilder.length() + length);
+        for (StringBuilder segment : segments) {
+            stringBuilder.append(segment);
+        }
+    }
+
+    private static final class RecolorTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final List<Shape> shapes;
+        private final Color newColor;
+        private final StringBuilder[] segments;
+        private final int fromPartition;
+        private final int toPartition;
+
+        RecolorTask(List<Shape> shapes, Color newColor, StringBuilder[] segments, int fromPartition, int toPartition) {
+            this.shapes = shapes;
+            this.newColor = newColor;
+            this.segments = segments;
+            this.fromPartition = fromPartition;
+            this.toPartition = toPartition;
+        }
+
+        @Override
+        protected void compute() {
+            if (toPartition - fromPartition > 1) {
+                int middle = (fromPartition + toPartition) >>> 1;
+                invokeAll(new RecolorTask(shapes, newColor, segments, fromPartition, middle),
+                          new RecolorTask(shapes, newColor, segments, middle, toPartition));
+            } else if (toPartition > fromPartition) {
+                int from = fromPartition * PARALLEL_PARTITION_SIZE;
+                int to = Math.min(shapes.size(), from + PARALLEL_PARTITION_SIZE);
+                StringBuilder segment = new StringBuilder(Shape.descriptionCapacity(to - from));
+                for (int i = from; i < to; i++) {
+                    Shape shape = shapes.get(i);
+                    shape.appendTo(segment);
+                    shape.setColor(newColor);
+                }
+                segments[fromPartition] = segment;
+            }
+        }
+    }
+}
@@ -22,6 +22,8 @@ package org.adoptopenjdk.lambda.tutorial.exercise1;
  * #L%
  */
 
+import java.io.IOException;
+
 /**
  * A simple shape, whose only attribute is a Color, which can be changed.
  *
@@ -32,6 +34,19 @@ package org.adoptopenjdk.lambda.tutorial.exercise1;
  */
 public class Shape {
 
+    private static final String[] DESCRIPTIONS = new String[Color.values().length];
+    private static final int MAX_DESCRIPTION_LENGTH;
+
+    static {
+        int maxLength = 0;
+        for (Color color : Color.values()) {
+            String description = String.format("[a %s shape]", color.name());
+            DESCRIPTIONS[color.ordinal()] = description;
+            maxLength = Math.max(maxLength, description.length());
+        }
+        MAX_DESCRIPTION_LENGTH = maxLength;
+    }
+
     private Color color;
 
     public Shape(Color color) {
@@ -46,8 +61,44 @@ public class Shape {
         this.color = color;
     }
 
+    /**
+     * Appends the same String representation as {@link #toString()} to the given <code>stringBuilder</code>.
+     *
+     * @param stringBuilder - string builder to append to
+     * @return the given string builder
+     */
+    public StringBuilder appendTo(StringBuilder stringBuilder) {
+        return stringBuilder.append(descriptionOf(getColor()));
+    }
+
+    /**
+     * Appends the same String representation as {@link #toString()} to the given <code>appendable</code>.
+     *
+     * @param appendable - destination to append to
+     * @return the given appendable
+     * @throws IOException if the appendable fails
+     */
+    public <A extends Appendable> A appendTo(A appendable) throws IOException {
+        appendable.append(descriptionOf(getColor()));
+        return appendable;
+    }
+
     @Override
     public String toString() {
-        return String.format("[a %s shape]", color.name());
+        return descriptionOf(getColor());
+    }
+
+    /**
+     * The String representation of a shape of the given color, which is computed once per Color.
+     */
+    static String descriptionOf(Color color) {
+        return DESCRIPTIONS[color.ordinal()];
+    }
+
+    /**
+     * The capacity needed to hold the String representations of <code>count</code> shapes, whatever their colors.
+     */
+    static int descriptionCapacity(int count) {
+        return (int) Math.min(Integer.MAX_VALUE - 8, (long) count * MAX_DESCRIPTION_LENGTH);
     }
 }
@@ -0,0 +1,129 @@
+package org.adoptopenjdk.lambda.tutorial.exercise1;
+
+/*
+ * #%L
+ * lambda-tutorial
+ * %%
+ * Copyright (C) 2013 Adopt OpenJDK
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 2 of the 
+ * License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public 
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/gpl-2.0.html>.
+ * #L%
+ */
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * Renders the String representation of a List of shapes, as built by the exercise
+ * {@link Shapes#makeStringOfAllColors(List, StringBuilder)}, without creating intermediate Strings.
+ *
+ * @see Shape#appendTo(StringBuilder)
+ */
+public final class ShapeRendering {
+
+    private static final int STREAMING_BUFFER_SIZE = 8 * 1024;
+    private static final byte[][] ENCODED_DESCRIPTIONS = new byte[Color.values().length][];
+
+    static {
+        for (Color color : Color.values()) {
+            ENCODED_DESCRIPTIONS[color.ordinal()] = Shape.descriptionOf(color).getBytes(StandardCharsets.UTF_8);
+        }
+    }
+
+    private ShapeRendering() {
+    }
+
+    /**
+     * Creates a String representation of all the given <code>shapes</code>, with the same result as
+     * {@link Shapes#makeStringOfAllColors(List, StringBuilder)} given an empty StringBuilder.
+     *
+     * The StringBuilder used is sized up front from the number of shapes, and each shape appends its precomputed
+     * representation directly, so no intermediate Strings are created.
+     *
+     * @param shapes - shapes to work over
+     * @return String representation of all the shapes
+     *
+     * @see Shape#appendTo(StringBuilder)
+     */
+    public static String makeStringOfAllColors(List<Shape> shapes) {
+        StringBuilder stringBuilder = new StringBuilder(Shape.descriptionCapacity(shapes.size()));
+        for (Shape shape : shapes) {
+            shape.appendTo(stringBuilder);
+        }
+        return stringBuilder.toString();
+    }
+
+    /**
+     * Writes a String representation of all the given <code>shapes</code> to <code>writer</code>, with the same
+     * content as {@link Shapes#makeStringOfAllColors(List, StringBuilder)}.
+     *
+     * Characters are staged through a single fixed-size buffer, so memory use does not grow with the number of shapes.
+     * The writer is neither flushed nor closed.
+     *
+     * @param shapes - shapes to work over
+     * @param writer - destination to write to
+     * @throws IOException if writing fails
+     */
+    public static void makeStringOfAllColors(List<Shape> shapes, Writer writer) throws IOException {
+        char[] buffer = new char[STREAMING_BUFFER_SIZE];
+        int position = 0;
+        for (Shape shape : shapes) {
+            String description = Shape.descriptionOf(shape.getColor());
+            int length = description.length();
+            if (position + length > buffer.length) {
+                writer.write(buffer, 0, position);
+                position = 0;
+            }
+            description.getChars(0, length, buffer, position);
+            position += length;
+        }
+        writer.write(buffer, 0, position);
+    }
+
+    /**
+     * Writes a UTF-8 encoded String representation of all the given <code>shapes</code> to <code>channel</code>, with
+     * the same content as {@link Shapes#makeStringOfAllColors(List, StringBuilder)}.
+     *
+     * The encoded form of each Color is computed once, and bytes are staged through a single fixed-size buffer, so
+     * memory use does not grow with the number of shapes. The channel is not closed.
+     *
+     * @param shapes - shapes to work over
+     * @param channel - destination to write to
+     * @throws IOException if writing fails
+     */
+    public static void makeStringOfAllColors(List<Shape> shapes, WritableByteChannel channel) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(STREAMING_BUFFER_SIZE);
+        for (Shape shape : shapes) {
+            byte[] description = ENCODED_DESCRIPTIONS[shape.getColor().ordinal()];
+            if (buffer.remaining() < description.length) {
+                drain(buffer, channel);
+            }
+            buffer.put(description);
+        }
+        drain(buffer, channel);
+    }
+
+    private static void drain(ByteBuffer buffer, WritableByteChannel channel) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+}
@@ -0,0 +1,218 @@
+package org.adoptopenjdk.lambda.tutorial.exercise1;
+
+/*
+ * #%L
+ * lambda-tutorial
+ * %%
+ * Copyright (C) 2013 Adopt OpenJDK
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 2 of the 
+ * License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public 
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/gpl-2.0.html>.
+ * #L%
+ */
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.RandomAccess;
+
+import static org.adoptopenjdk.lambda.tutorial.util.ArrayCapacity.MAX_ARRAY_SIZE;
+import static org.adoptopenjdk.lambda.tutorial.util.ArrayCapacity.grow;
+
+/**
+ * A columnar store of shapes, holding the color of each shape as a single byte (the Color's ordinal) rather than as
+ * an individually allocated Shape object.
+ *
+ * Offers the same bulk operations as {@link Shapes}, but a recolor is a fill over an array, and building a String
+ * representation appends from a table of precomputed fragments. Shape objects are only created on demand, as views
+ * onto a position in the store.
+ *
+ * @see Shapes
+ * @see Shape
+ */
+public final class ShapeStore {
+
+    private static final Color[] COLORS = Color.values();
+    private static final int DEFAULT_CAPACITY = 16;
+
+    private byte[] colors;
+    private int size;
+
+    public ShapeStore() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public ShapeStore(int initialCapacity) {
+        if (initialCapacity < 0) {
+            throw new IllegalArgumentException("Capacity must not be negative: " + initialCapacity);
+        }
+        if (initialCapacity > MAX_ARRAY_SIZE) {
+            throw new IllegalArgumentException("Capacity is too large: " + initialCapacity);
+        }
+        this.colors = new byte[initialCapacity];
+    }
+
+    /**
+     * Creates a store containing the colors of the given <code>shapes</code>, in the same order.
+     *
+     * Later changes to the given shapes are not reflected in the store.
+     *
+     * @param shapes - shapes to copy the colors of
+     * @return a new store
+     */
+    public static ShapeStore of(List<Shape> shapes) {
+        ShapeStore store = new ShapeStore(shapes.size());
+        shapes.forEach(shape -> store.add(shape.getColor()));
+        return store;
+    }
+
+    /**
+     * Appends a shape of the given <code>color</code> to the end of the store.
+     *
+     * @param color - color of the new shape
+     */
+    public void add(Color color) {
+        if (size == colors.length) {
+            colors = Arrays.copyOf(colors, grow(size, size + 1L, MAX_ARRAY_SIZE));
+        }
+        colors[size++] = ordinalOf(color);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public Color colorAt(int index) {
+        checkIndex(index);
+        return COLORS[colors[index]];
+    }
+
+    public void setColorAt(int index, Color color) {
+        checkIndex(index);
+        colors[index] = ordinalOf(color);
+    }
+
+    /**
+     * Creates a view of the shape at the given <code>index</code>. Changing the color of the returned Shape changes
+     * the color held in this store, and vice versa.
+     *
+     * @param index - position of the shape in the store
+     * @return a Shape backed by this store
+     */
+    public Shape shapeAt(int index) {
+        checkIndex(index);
+        return new StoredShape(index);
+    }
+
+    /**
+     * @return a fixed-size List view of this store, whose elements are created on demand by {@link #shapeAt(int)}
+     */
+    public List<Shape> asList() {
+        return new ShapeList();
+    }
+
+    /**
+     * Changes the color of all the shapes in this store, setting to <code>newColor</code>.
+     *
+     * @param newColor - the new color
+     *
+     * @see Shapes#colorAll(List, Color)
+     */
+    public void colorAll(Color newColor) {
+        Arrays.fill(colors, 0, size, ordinalOf(newColor));
+    }
+
+    /**
+     * Creates a String representation of all the shapes in this store, appending to the given
+     * <code>stringBuilder</code>. The result is identical to that of concatenating each Shape's toString.
+     *
+     * @param stringBuilder - string builder to append to
+     *
+     * @see Shapes#makeStringOfAllColors(List, StringBuilder)
+     */
+    public void makeStringOfAllColors(StringBuilder stringBuilder) {
+        stringBuilder.ensureCapacity(stringBuilder.length() + Shape.descriptionCapacity(size));
+        for (int i = 0; i < size; i++) {
+            stringBuilder.append(Shape.descriptionOf(COLORS[colors[i]]));
+        }
+    }
+
+    /**
+     * Changes the color of each shape in this store to <code>newColor</code>, appending a String representation of
+     * the color of all the shapes, as they were before they were changed.
+     *
+     * This operation is performed in one pass over the store.
+     *
+     * @param newColor - new color
+     * @param stringBuilder - string builder to append to
+     *
+     * @see Shapes#changeColorAndMakeStringOfOldColors(List, Color, StringBuilder)
+     */
+    public void changeColorAndMakeStringOfOldColors(Color newColor, StringBuilder stringBuilder) {
+        byte newOrdinal = ordinalOf(newColor);
+        stringBuilder.ensureCapacity(stringBuilder.length() + Shape.descriptionCapacity(size));
+        for (int i = 0; i < size; i++) {
+            stringBuilder.append(Shape.descriptionOf(COLORS[colors[i]]));
+            colors[i] = newOrdinal;
+        }
+    }
+
+    private static byte ordinalOf(Color color) {
+        return (byte) color.ordinal();
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+    }
+
+    private final class StoredShape extends Shape {
+        private final int index;
+
+        StoredShape(int index) {
+            super(COLORS[colors[index]]);
+            this.index = index;
+        }
+
+        @Override
+        public Color getColor() {
+            return colorAt(index);
+        }
+
+        @Override
+        public void setColor(Color color) {
+            setColorAt(index, color);
+        }
+    }
+
+    private final class ShapeList extends AbstractList<Shape> implements RandomAccess {
+        @Override
+        public Shape get(int index) {
+            return shapeAt(index);
+        }
+
+        @Override
+        public Shape set(int index, Shape element) {
+            Shape previous = new Shape(colorAt(index));
+            setColorAt(index, element.getColor());
+            return previous;
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+    }
+}
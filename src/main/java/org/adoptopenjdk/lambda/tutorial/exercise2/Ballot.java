@@ -29,6 +29,15 @@ package org.adoptopenjdk.lambda.tutorial.exercise2;
  */
 public final class Ballot {
 
+    private static final Ballot[] CANONICAL = new Ballot[Party.values().length + 1];
+
+    static {
+        CANONICAL[0] = new Ballot(null);
+        for (Party party : Party.values()) {
+            CANONICAL[party.ordinal() + 1] = new Ballot(party);
+        }
+    }
+
     private final boolean isSpoiled;
     private final Party party;
 
@@ -63,6 +72,21 @@ public final class Ballot {
         return new Ballot(null);
     }
 
+    /**
+     * The code of a ballot in a {@link BallotStream}: 0 for a spoiled ballot, or one more than the Party's ordinal.
+     */
+    static byte codeOf(Ballot ballot) {
+        return ballot.isSpoiled ? 0 : (byte) (ballot.party.ordinal() + 1);
+    }
+
+    /**
+     * A shared instance for each distinct ballot code. Unlike {@link #voteFor(Party)}, which creates a distinct
+     * Ballot for every vote cast, these are shared between every vote decoded from a {@link BallotStream}.
+     */
+    static Ballot canonical(byte code) {
+        return CANONICAL[code];
+    }
+
     public boolean isSpoiled() {
         return isSpoiled;
     }
@@ -0,0 +1,161 @@
+package org.adoptopenjdk.lambda.tutorial.exercise2;
+
+/*
+ * #%L
+ * lambda-tutorial
+ * %%
+ * Copyright (C) 2013 Adopt OpenJDK
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 2 of the 
+ * License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public 
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/gpl-2.0.html>.
+ * #L%
+ */
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * A set of ballots which notifies listeners of each batch of ballots added to or removed from it.
+ *
+ * Changes are published to listeners in the order they are made, one notification per call to a mutating method.
+ * Listeners are notified after the box's lock has been released, by one thread at a time, so a listener may read or
+ * change the box. A notification is delivered either before the mutating method returns, or by another thread which
+ * is already notifying listeners of earlier changes.
+ *
+ * @see UnspoiledBallotView
+ */
+public final class BallotBox {
+
+    /**
+     * Receives the changes made to a set of ballots.
+     */
+    @FunctionalInterface
+    public interface Listener {
+        /**
+         * @param added - ballots which have been added, never null
+         * @param removed - ballots which have been removed, never null
+         */
+        void ballotsChanged(Set<Ballot> added, Set<Ballot> removed);
+    }
+
+    private final Set<Ballot> ballots = new HashSet<>();
+    private final SerialDispatcher dispatcher = new SerialDispatcher();
+    private volatile List<Listener> listeners = Collections.emptyList();
+
+    /**
+     * Registers a listener, which is first notified of every ballot currently in the box as an addition, then of each
+     * later change.
+     *
+     * @param listener - listener to notify of changes
+     */
+    public void subscribe(Listener listener) {
+        synchronized (this) {
+            register(listener);
+            if (!ballots.isEmpty()) {
+                publish(Collections.singletonList(listener), new HashSet<>(ballots), Collections.emptySet());
+            }
+        }
+        dispatcher.dispatch();
+    }
+
+    /**
+     * Registers a listener without notifying it of the ballots currently in the box, which are returned instead. For
+     * a listener which must be initialised with the current ballots before it sees any later change.
+     */
+    synchronized Set<Ballot> subscribeToChanges(Listener listener) {
+        register(listener);
+        return new HashSet<>(ballots);
+    }
+
+    /**
+     * Deregisters a listener. It is not notified of any change which has yet to be delivered.
+     *
+     * @param listener - listener to stop notifying
+     */
+    public synchronized void unsubscribe(Listener listener) {
+        List<Listener> remaining = new ArrayList<>(listeners);
+        remaining.remove(listener);
+        listeners = Collections.unmodifiableList(remaining);
+    }
+
+    public void add(Ballot ballot) {
+        addAll(Collections.singleton(ballot));
+    }
+
+    public void addAll(Collection<Ballot> newBallots) {
+        synchronized (this) {
+            Set<Ballot> added = new HashSet<>();
+            for (Ballot ballot : newBallots) {
+                if (ballots.add(ballot)) {
+                    added.add(ballot);
+                }
+            }
+            publish(listeners, added, Collections.emptySet());
+        }
+        dispatcher.dispatch();
+    }
+
+    public void remove(Ballot ballot) {
+        removeAll(Collections.singleton(ballot));
+    }
+
+    public void removeAll(Collection<Ballot> oldBallots) {
+        synchronized (this) {
+            Set<Ballot> removed = new HashSet<>();
+            for (Ballot ballot : oldBallots) {
+                if (ballots.remove(ballot)) {
+                    removed.add(ballot);
+                }
+            }
+            publish(listeners, Collections.emptySet(), removed);
+        }
+        dispatcher.dispatch();
+    }
+
+    /**
+     * @return a copy of the ballots currently in the box
+     */
+    public synchronized Set<Ballot> snapshot() {
+        return new HashSet<>(ballots);
+    }
+
+    private void register(Listener listener) {
+        List<Listener> registered = new ArrayList<>(listeners);
+        registered.add(listener);
+        listeners = Collections.unmodifiableList(registered);
+    }
+
+    /**
+     * Queues a change for the given listeners. Called with the box's lock held, so changes are queued in the order
+     * they are made; they are delivered by {@link SerialDispatcher#dispatch()} once the lock is released.
+     */
+    private void publish(List<Listener> targets, Set<Ballot> added, Set<Ballot> removed) {
+        if (targets.isEmpty() || (added.isEmpty() && removed.isEmpty())) {
+            return;
+        }
+        Set<Ballot> readOnlyAdded = Collections.unmodifiableSet(added);
+        Set<Ballot> readOnlyRemoved = Collections.unmodifiableSet(removed);
+        dispatcher.enqueue(() -> {
+            for (Listener listener : targets) {
+                if (listeners.contains(listener)) {
+                    listener.ballotsChanged(readOnlyAdded, readOnlyRemoved);
+                }
+            }
+        });
+    }
+}
@@ -0,0 +1,247 @@
+package org.adoptopenjdk.lambda.tutorial.exercise2;
+
+/*
+ * #%L
+ * lambda-tutorial
+ * %%
+ * Copyright (C) 2013 Adopt OpenJDK
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 2 of the 
+ * License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public 
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/gpl-2.0.html>.
+ * #L%
+ */
+
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Tallies ballots as they arrive, from any number of threads at once.
+ *
+ * Each Party has its own striped counter, indexed by the Party's ordinal, and spoiled ballots have one more. The
+ * counters belong to an epoch. A recording registers in the current epoch's in-flight stripe for its thread, adds to
+ * that epoch's counters, and deregisters; threads only share a stripe when their ids collide, so they rarely contend
+ * with each other.
+ *
+ * A snapshot swaps in a fresh epoch, so ingestion carries on into the new counters without waiting, then waits only
+ * for the recordings already in flight in the old epoch to finish before folding its counters into the running total.
+ */
+public final class BallotCounter {
+
+    private static final Party[] PARTIES = Party.values();
+
+    private volatile Epoch current = new Epoch();
+    private final long[] retiredVotes = new long[PARTIES.length];
+    private long retiredSpoiled;
+
+    /**
+     * Count a single ballot.
+     *
+     * @param ballot - ballot to count
+     */
+    public void record(Ballot ballot) {
+        int stripe = Epoch.stripeOfCurrentThread();
+        Epoch epoch = enter(stripe);
+        try {
+            if (ballot.isSpoiled()) {
+                epoch.spoiled.increment();
+            } else {
+                epoch.votes[ballot.getParty().ordinal()].increment();
+            }
+        } finally {
+            epoch.exit(stripe);
+        }
+    }
+
+    /**
+     * Count a batch of ballots, tallying locally before touching the shared counters once per Party.
+     *
+     * @param ballots - ballots to count
+     */
+    public void recordAll(Iterable<Ballot> ballots) {
+        long[] batchVotes = new long[PARTIES.length];
+        long batchSpoiled = 0;
+        for (Ballot ballot : ballots) {
+            if (ballot.isSpoiled()) {
+                batchSpoiled++;
+            } else {
+                batchVotes[ballot.getParty().ordinal()]++;
+            }
+        }
+        add(batchVotes, batchSpoiled);
+    }
+
+    /**
+     * Count every ballot in a compact BallotStream, without decoding any Ballot objects.
+     *
+     * @param ballots - ballots to count
+     */
+    public void recordAll(BallotStream ballots) {
+        long[] counts = ballots.countsByCode();
+        add(Arrays.copyOfRange(counts, 1, counts.length), counts[0]);
+    }
+
+    /**
+     * Take a consistent snapshot of the tally so far, while ballots continue to be recorded.
+     *
+     * Each call to {@link #record(Ballot)} or <code>recordAll</code> counts all its ballots in a single epoch, so it
+     * is either wholly included in a snapshot or wholly excluded. Any recording which completed before the snapshot
+     * began is included, and if a recording is included then so is every recording which completed before it began.
+     * Recordings never wait for a snapshot; snapshots are taken one at a time.
+     *
+     * @return the tally so far
+     */
+    public synchronized Tally snapshot() {
+        Epoch retiring = current;
+        current = new Epoch();
+        retiring.awaitQuiescence();
+        for (int i = 0; i < retiredVotes.length; i++) {
+            retiredVotes[i] += retiring.votes[i].sum();
+        }
+        retiredSpoiled += retiring.spoiled.sum();
+        return new Tally(retiredVotes.clone(), retiredSpoiled);
+    }
+
+    void add(long[] partyVotes, long spoiledBallots) {
+        int stripe = Epoch.stripeOfCurrentThread();
+        Epoch epoch = enter(stripe);
+        try {
+            for (int i = 0; i < partyVotes.length; i++) {
+                if (partyVotes[i] != 0) {
+                    epoch.votes[i].add(partyVotes[i]);
+                }
+            }
+            if (spoiledBallots != 0) {
+                epoch.spoiled.add(spoiledBallots);
+            }
+        } finally {
+            epoch.exit(stripe);
+        }
+    }
+
+    /**
+     * Registers in the current epoch. If a snapshot retires the epoch between reading it and registering, the
+     * snapshot may already have found it quiet, so the recording deregisters and moves to the new epoch instead.
+     */
+    private Epoch enter(int stripe) {
+        while (true) {
+            Epoch epoch = current;
+            epoch.inFlight.incrementAndGet(stripe);
+            if (epoch == current) {
+                return epoch;
+            }
+            epoch.exit(stripe);
+        }
+    }
+
+    /**
+     * The counters recorded into between two snapshots, and the number of recordings in flight on each stripe.
+     */
+    private static final class Epoch {
+        private static final int STRIPES = stripesFor(Runtime.getRuntime().availableProcessors());
+        private static final int PADDING = 16;
+
+        private final LongAdder[] votes = new LongAdder[PARTIES.length];
+        private final LongAdder spoiled = new LongAdder();
+        private final AtomicLongArray inFlight = new AtomicLongArray(STRIPES * PADDING);
+
+        Epoch() {
+            for (int i = 0; i < votes.length; i++) {
+                votes[i] = new LongAdder();
+            }
+        }
+
+        /**
+         * Each thread always uses the same stripe, so it deregisters from the stripe it registered in. Stripes are
+         * spaced a cache line or two apart, so threads on different stripes do not falsely share.
+         */
+        static int stripeOfCurrentThread() {
+            long id = Thread.currentThread().getId();
+            return ((int) ((id * 0x9E3779B97F4A7C15L) >>> 32) & (STRIPES - 1)) * PADDING;
+        }
+
+        void exit(int stripe) {
+            inFlight.decrementAndGet(stripe);
+        }
+
+        void awaitQuiescence() {
+            for (int stripe = 0; stripe < inFlight.length(); stripe += PADDING) {
+                while (inFlight.get(stripe) != 0) {
+                    Thread.yield();
+                }
+            }
+        }
+
+        private static int stripesFor(int processors) {
+            int stripes = Integer.highestOneBit(Math.max(1, processors - 1)) << 2;
+            return Math.min(stripes, 256);
+        }
+    }
+
+    /**
+     * An immutable count of ballots, as taken by {@link BallotCounter#snapshot()}.
+     */
+    public static final class Tally {
+        private final long[] votes;
+        private final long spoiled;
+        private final long unspoiled;
+
+        private Tally(long[] votes, long spoiled) {
+            this.votes = votes;
+            this.spoiled = spoiled;
+            long sum = 0;
+            for (long count : votes) {
+                sum += count;
+            }
+            this.unspoiled = sum;
+        }
+
+        public long votesFor(Party party) {
+            return votes[party.ordinal()];
+        }
+
+        public long spoiled() {
+            return spoiled;
+        }
+
+        public long unspoiled() {
+            return unspoiled;
+        }
+
+        public long total() {
+            return unspoiled + spoiled;
+        }
+
+        /**
+         * @return the votes for each Party
+         */
+        public Map<Party, Long> byParty() {
+            EnumMap<Party, Long> byParty = new EnumMap<>(Party.class);
+            for (Party party : PARTIES) {
+                byParty.put(party, votes[party.ordinal()]);
+            }
+            return byParty;
+        }
+
+        @Override
+        public String toString() {
+            return "Tally{" +
+                    "votes=" + byParty() +
+                    ", spoiled=" + spoiled +
+                    '}';
+        }
+    }
+}
@@ -0,0 +1,156 @@
+package org.adoptopenjdk.lambda.tutorial.exercise2;
+
+/*
+ * #%L
+ * lambda-tutorial
+ * %%
+ * Copyright (C) 2013 Adopt OpenJDK
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 2 of the 
+ * License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public 
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/gpl-2.0.html>.
+ * #L%
+ */
+
+import java.util.Arrays;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.adoptopenjdk.lambda.tutorial.util.ArrayCapacity.MAX_ARRAY_SIZE;
+import static org.adoptopenjdk.lambda.tutorial.util.ArrayCapacity.grow;
+
+/**
+ * A compact, immutable sequence of ballots, holding one byte per ballot rather than one object per ballot.
+ *
+ * There are only as many distinct ballots as there are parties, plus one for a spoiled ballot, so each is stored as a
+ * code: 0 for spoiled, or one more than the Party's ordinal. Counting and filtering run over the array of codes. When
+ * ballots are read back as objects, each distinct ballot is represented by a single shared Ballot instance.
+ *
+ * @see BallotCounter#recordAll(BallotStream)
+ */
+public final class BallotStream {
+
+    private static final int CODES = Party.values().length + 1;
+
+    private final byte[] codes;
+    private final int size;
+
+    private BallotStream(byte[] codes, int size) {
+        this.codes = codes;
+        this.size = size;
+    }
+
+    /**
+     * @param ballots - ballots to encode, in order
+     * @return a BallotStream of the given ballots
+     */
+    public static BallotStream of(Iterable<Ballot> ballots) {
+        Builder builder = builder();
+        ballots.forEach(ballot -> builder.add(ballot));
+        return builder.build();
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @param index - position of the ballot
+     * @return the shared Ballot instance equivalent to the ballot at the given position
+     */
+    public Ballot get(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+        return Ballot.canonical(codes[index]);
+    }
+
+    /**
+     * @return every ballot, in order, each represented by a shared Ballot instance
+     */
+    public Stream<Ballot> stream() {
+        return IntStream.range(0, size).mapToObj(i -> Ballot.canonical(codes[i]));
+    }
+
+    public long votesFor(Party party) {
+        return countsByCode()[party.ordinal() + 1];
+    }
+
+    public long spoiled() {
+        return countsByCode()[0];
+    }
+
+    /**
+     * @return a new BallotStream containing only the ballots which were not spoiled, in order
+     */
+    public BallotStream unspoiled() {
+        byte[] kept = new byte[size];
+        int keptSize = 0;
+        for (int i = 0; i < size; i++) {
+            byte code = codes[i];
+            kept[keptSize] = code;
+            keptSize += code == 0 ? 0 : 1;
+        }
+        return new BallotStream(keptSize == size ? kept : Arrays.copyOf(kept, keptSize), keptSize);
+    }
+
+    /**
+     * The number of ballots with each code, indexed by code.
+     */
+    long[] countsByCode() {
+        long[] counts = new long[CODES];
+        for (int i = 0; i < size; i++) {
+            counts[codes[i]]++;
+        }
+        return counts;
+    }
+
+    /**
+     * Accumulates ballots into a new BallotStream.
+     */
+    public static final class Builder {
+        private byte[] codes = new byte[64];
+        private int size;
+
+        private Builder() {
+        }
+
+        public Builder add(Ballot ballot) {
+            return addCode(Ballot.codeOf(ballot));
+        }
+
+        public Builder addVoteFor(Party party) {
+            return addCode((byte) (party.ordinal() + 1));
+        }
+
+        public Builder addSpoiled() {
+            return addCode((byte) 0);
+        }
+
+        public BallotStream build() {
+            return new BallotStream(Arrays.copyOf(codes, size), size);
+        }
+
+        private Builder addCode(byte code) {
+            if (size == codes.length) {
+                codes = Arrays.copyOf(codes, grow(size, size + 1L, MAX_ARRAY_SIZE));
+            }
+            codes[size++] = code;
+            return this;
+        }
+    }
+}
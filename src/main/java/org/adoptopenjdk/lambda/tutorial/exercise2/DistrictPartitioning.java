@@ -0,0 +1,174 @@
+package org.adoptopenjdk.lambda.tutorial.exercise2;
+
+/*
+ * #%L
+ * lambda-tutorial
+ * %%
+ * Copyright (C) 2013 Adopt OpenJDK
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 2 of the 
+ * License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public 
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/gpl-2.0.html>.
+ * #L%
+ */
+
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collector;
+import java.util.stream.Stream;
+
+/**
+ * Partitions registered voters by the {@link ElectoralDistrict} they reside in, routing each elector id through a
+ * trie of district prefixes, so that every district is filled in a single pass rather than one pass per district.
+ *
+ * @see ElectoralDistrict
+ */
+public final class DistrictPartitioning {
+
+    private static final PrefixTrie ROUTES = new PrefixTrie(ElectoralDistrict.values());
+
+    private DistrictPartitioning() {
+    }
+
+    /**
+     * Finds the district a voter with the given elector id resides in, by matching the longest district prefix.
+     *
+     * @param electorId - elector id to route
+     * @return the matching district, or empty if no district prefix matches
+     */
+    public static Optional<ElectoralDistrict> districtOf(String electorId) {
+        return Optional.ofNullable(ROUTES.route(electorId));
+    }
+
+    /**
+     * A Collector which partitions voters by district in a single pass, suitable for use on a parallel stream.
+     * Every district is present in the resulting map; voters whose elector id matches no district are dropped.
+     *
+     * @return collector partitioning voters by district
+     *
+     * @see #districtOf(String)
+     */
+    public static Collector<RegisteredVoter, ?, EnumMap<ElectoralDistrict, Set<RegisteredVoter>>> groupingByDistrict() {
+        return Collector.of(
+                () -> {
+                    EnumMap<ElectoralDistrict, Set<RegisteredVoter>> byDistrict = new EnumMap<>(ElectoralDistrict.class);
+                    for (ElectoralDistrict district : ElectoralDistrict.values()) {
+                        byDistrict.put(district, new HashSet<>());
+                    }
+                    return byDistrict;
+                },
+                (byDistrict, voter) -> {
+                    ElectoralDistrict district = ROUTES.route(voter.getElectorId());
+                    if (district != null) {
+                        byDistrict.get(district).add(voter);
+                    }
+                },
+                (left, right) -> {
+                    right.forEach((district, voters) -> {
+                        Set<RegisteredVoter> merged = left.get(district);
+                        if (merged.size() < voters.size()) {
+                            voters.addAll(merged);
+                            left.put(district, voters);
+                        } else {
+                            merged.addAll(voters);
+                        }
+                    });
+                    return left;
+                },
+                Collector.Characteristics.UNORDERED,
+                Collector.Characteristics.IDENTITY_FINISH);
+    }
+
+    /**
+     * Partitions all the given voters by the district they reside in, in one parallel pass, rather than one pass per
+     * district.
+     *
+     * @param voters - voters to partition
+     * @return the voters residing in each district
+     *
+     * @see #groupingByDistrict()
+     */
+    public static EnumMap<ElectoralDistrict, Set<RegisteredVoter>> votersByDistrict(Collection<RegisteredVoter> voters) {
+        return votersByDistrict(voters.parallelStream());
+    }
+
+    /**
+     * Partitions all the voters in the given stream by the district they reside in, in one pass. The stream is
+     * processed in parallel if it is a parallel stream, such as {@link MappedVoterRoll#parallelStream()}.
+     *
+     * @param voters - voters to partition
+     * @return the voters residing in each district
+     *
+     * @see #groupingByDistrict()
+     */
+    public static EnumMap<ElectoralDistrict, Set<RegisteredVoter>> votersByDistrict(Stream<RegisteredVoter> voters) {
+        return voters.collect(groupingByDistrict());
+    }
+
+    /**
+     * Routes elector ids to districts by walking their characters through a trie of district prefixes.
+     */
+    private static final class PrefixTrie {
+        private final Node root = new Node();
+
+        PrefixTrie(ElectoralDistrict[] districts) {
+            for (ElectoralDistrict district : districts) {
+                String prefix = district.getPrefix();
+                Node node = root;
+                for (int i = 0; i < prefix.length(); i++) {
+                    node = node.childFor(prefix.charAt(i));
+                }
+                node.district = district;
+            }
+        }
+
+        ElectoralDistrict route(String electorId) {
+            Node node = root;
+            ElectoralDistrict matched = node.district;
+            for (int i = 0; i < electorId.length() && node != null; i++) {
+                node = node.childAt(electorId.charAt(i));
+                if (node != null && node.district != null) {
+                    matched = node.district;
+                }
+            }
+            return matched;
+        }
+
+        private static final class Node {
+            private static final int FANOUT = 128;
+
+            private Node[] children;
+            private ElectoralDistrict district;
+
+            Node childAt(char c) {
+                return children == null || c >= FANOUT ? null : children[c];
+            }
+
+            Node childFor(char c) {
+                if (c >= FANOUT) {
+                    throw new IllegalArgumentException("District prefixes must be ASCII: " + c);
+                }
+                if (children == null) {
+                    children = new Node[FANOUT];
+                }
+                if (children[c] == null) {
+                    children[c] = new Node();
+                }
+                return children[c];
+            }
+        }
+    }
+}
@@ -0,0 +1,214 @@
+package org.adoptopenjdk.lambda.tutorial.exercise2;
+
+/*
+ * #%L
+ * lambda-tutorial
+ * %%
+ * Copyright (C) 2013 Adopt OpenJDK
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 2 of the 
+ * License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public 
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/gpl-2.0.html>.
+ * #L%
+ */
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * A roll of registered voters read directly from a memory-mapped file, rather than copied onto the heap.
+ *
+ * The file holds one fixed-width record per voter: the elector id in US-ASCII, padded with spaces, and optionally
+ * terminated by a line break which counts towards the record width. Because every record has the same width, the
+ * roll's Spliterator splits on exact record boundaries, so streams over it can be processed in parallel.
+ *
+ * @see DistrictPartitioning#votersByDistrict(Stream)
+ */
+public final class MappedVoterRoll {
+
+    private static final int MIN_SPLIT_SIZE = 1024;
+
+    private final ByteBuffer[] segments;
+    private final int recordWidth;
+    private final int recordsPerSegment;
+    private final long size;
+
+    private MappedVoterRoll(ByteBuffer[] segments, int recordWidth, int recordsPerSegment, long size) {
+        this.segments = segments;
+        this.recordWidth = recordWidth;
+        this.recordsPerSegment = recordsPerSegment;
+        this.size = size;
+    }
+
+    /**
+     * Maps a voter roll file into memory. Files larger than a single mapping allows are mapped in several segments,
+     * each holding a whole number of records.
+     *
+     * @param file - file to map
+     * @param recordWidth - width in bytes of every record, including any line break
+     * @return the mapped roll
+     * @throws IOException if the file cannot be mapped, or is not a whole number of records
+     */
+    public static MappedVoterRoll map(Path file, int recordWidth) throws IOException {
+        if (recordWidth <= 0) {
+            throw new IllegalArgumentException("Record width must be positive: " + recordWidth);
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long length = channel.size();
+            if (length % recordWidth != 0) {
+                throw new IOException(file + " is not a whole number of " + recordWidth + " byte records");
+            }
+            long size = length / recordWidth;
+            int recordsPerSegment = Integer.MAX_VALUE / recordWidth;
+            int segmentCount = (int) ((size + recordsPerSegment - 1) / recordsPerSegment);
+            ByteBuffer[] segments = new ByteBuffer[segmentCount];
+            for (int i = 0; i < segmentCount; i++) {
+                long start = (long) i * recordsPerSegment * recordWidth;
+                MappedByteBuffer segment = channel.map(FileChannel.MapMode.READ_ONLY, start,
+                                                       Math.min(length - start, (long) recordsPerSegment * recordWidth));
+                segments[i] = segment;
+            }
+            return new MappedVoterRoll(segments, recordWidth, recordsPerSegment, size);
+        }
+    }
+
+    /**
+     * Writes voters to a file in the format read by {@link #map(Path, int)}, with each record terminated by a line
+     * break.
+     *
+     * @param file - file to write, replacing any existing content
+     * @param recordWidth - width in bytes of every record, including the line break
+     * @param voters - voters to write
+     * @throws IOException if the file cannot be written
+     */
+    public static void write(Path file, int recordWidth, Iterable<RegisteredVoter> voters) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                                                    StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer buffer = ByteBuffer.allocate(Math.max(recordWidth, 64 * 1024));
+            for (RegisteredVoter voter : voters) {
+                byte[] id = voter.getElectorId().getBytes(StandardCharsets.US_ASCII);
+                if (id.length >= recordWidth) {
+                    throw new IllegalArgumentException("Elector id does not fit in a record: " + voter.getElectorId());
+                }
+                if (buffer.remaining() < recordWidth) {
+                    drain(buffer, channel);
+                }
+                buffer.put(id);
+                for (int i = id.length; i < recordWidth - 1; i++) {
+                    buffer.put((byte) ' ');
+                }
+                buffer.put((byte) '\n');
+            }
+            drain(buffer, channel);
+        }
+    }
+
+    /**
+     * @return the number of voters on the roll
+     */
+    public long size() {
+        return size;
+    }
+
+    public Spliterator<RegisteredVoter> spliterator() {
+        return new RecordSpliterator(0, size);
+    }
+
+    public Stream<RegisteredVoter> stream() {
+        return StreamSupport.stream(spliterator(), false);
+    }
+
+    public Stream<RegisteredVoter> parallelStream() {
+        return StreamSupport.stream(spliterator(), true);
+    }
+
+    private static void drain(ByteBuffer buffer, FileChannel channel) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    private final class RecordSpliterator implements Spliterator<RegisteredVoter> {
+        private final byte[] record = new byte[recordWidth];
+        private long next;
+        private final long end;
+
+        RecordSpliterator(long next, long end) {
+            this.next = next;
+            this.end = end;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super RegisteredVoter> action) {
+            if (next >= end) {
+                return false;
+            }
+            action.accept(read(next++));
+            return true;
+        }
+
+        @Override
+        public void forEachRemaining(Consumer<? super RegisteredVoter> action) {
+            while (next < end) {
+                action.accept(read(next++));
+            }
+        }
+
+        @Override
+        public Spliterator<RegisteredVoter> trySplit() {
+            long remaining = end - next;
+            if (remaining < 2 * MIN_SPLIT_SIZE) {
+                return null;
+            }
+            long middle = next + remaining / 2;
+            RecordSpliterator prefix = new RecordSpliterator(next, middle);
+            next = middle;
+            return prefix;
+        }
+
+        @Override
+        public long estimateSize() {
+            return end - next;
+        }
+
+        @Override
+        public int characteristics() {
+            return ORDERED | SIZED | SUBSIZED | NONNULL | IMMUTABLE;
+        }
+
+        private RegisteredVoter read(long index) {
+            ByteBuffer segment = segments[(int) (index / recordsPerSegment)];
+            int offset = (int) (index % recordsPerSegment) * recordWidth;
+            int length = 0;
+            for (int i = 0; i < recordWidth; i++) {
+                byte b = segment.get(offset + i);
+                record[i] = b;
+                if (b != ' ' && b != '\n' && b != '\r') {
+                    length = i + 1;
+                }
+            }
+            return new RegisteredVoter(new String(record, 0, length, StandardCharsets.US_ASCII));
+        }
+    }
+}
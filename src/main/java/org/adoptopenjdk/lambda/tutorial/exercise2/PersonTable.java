@@ -0,0 +1,174 @@
+package org.adoptopenjdk.lambda.tutorial.exercise2;
+
+/*
+ * #%L
+ * lambda-tutorial
+ * %%
+ * Copyright (C) 2013 Adopt OpenJDK
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 2 of the 
+ * License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public 
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/gpl-2.0.html>.
+ * #L%
+ */
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.adoptopenjdk.lambda.tutorial.util.ArrayCapacity.MAX_ARRAY_SIZE;
+import static org.adoptopenjdk.lambda.tutorial.util.ArrayCapacity.grow;
+
+/**
+ * A columnar table of people, holding every age in one int array and every name in one shared char buffer.
+ *
+ * Eligibility filters run as simple counted loops over the array of ages, producing a bitmap of the matching rows.
+ * Person objects are only created for the rows which survive the filter.
+ */
+public final class PersonTable {
+
+    private static final int DEFAULT_CAPACITY = 16;
+    private static final int ESTIMATED_NAME_LENGTH = 8;
+    private static final int MAX_PRESIZED_NAMES = 16 * 1024 * 1024;
+
+    private int[] ages;
+    private int[] nameOffsets;
+    private char[] names;
+    private int size;
+
+    public PersonTable() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public PersonTable(int initialCapacity) {
+        if (initialCapacity < 0) {
+            throw new IllegalArgumentException("Capacity must not be negative: " + initialCapacity);
+        }
+        if (initialCapacity >= MAX_ARRAY_SIZE) {
+            throw new IllegalArgumentException("Capacity is too large: " + initialCapacity);
+        }
+        this.ages = new int[initialCapacity];
+        this.nameOffsets = new int[initialCapacity + 1];
+        this.names = new char[(int) Math.min(MAX_PRESIZED_NAMES, (long) initialCapacity * ESTIMATED_NAME_LENGTH)];
+    }
+
+    /**
+     * @param people - people to copy into the table, in order
+     * @return a new table
+     */
+    public static PersonTable of(Collection<Person> people) {
+        PersonTable table = new PersonTable(people.size());
+        people.forEach(person -> table.add(person.getName(), person.getAge()));
+        return table;
+    }
+
+    public void add(String name, int age) {
+        if (size == ages.length) {
+            int capacity = grow(size, size + 1L, MAX_ARRAY_SIZE - 1);
+            ages = Arrays.copyOf(ages, capacity);
+            nameOffsets = Arrays.copyOf(nameOffsets, capacity + 1);
+        }
+        int nameStart = nameOffsets[size];
+        long nameEnd = (long) nameStart + name.length();
+        if (nameEnd > names.length) {
+            names = Arrays.copyOf(names, grow(names.length, nameEnd, MAX_ARRAY_SIZE));
+        }
+        name.getChars(0, name.length(), names, nameStart);
+        ages[size] = age;
+        nameOffsets[++size] = (int) nameEnd;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int ageAt(int row) {
+        checkRow(row);
+        return ages[row];
+    }
+
+    public String nameAt(int row) {
+        checkRow(row);
+        return new String(names, nameOffsets[row], nameOffsets[row + 1] - nameOffsets[row]);
+    }
+
+    public Person personAt(int row) {
+        return new Person(nameAt(row), ageAt(row));
+    }
+
+    /**
+     * @param legalAgeOfVoting - age where it's legal to vote
+     * @return the number of people eligible to vote
+     */
+    public int countEligible(int legalAgeOfVoting) {
+        int[] ages = this.ages;
+        int count = 0;
+        for (int i = 0; i < size; i++) {
+            count += ages[i] >= legalAgeOfVoting ? 1 : 0;
+        }
+        return count;
+    }
+
+    /**
+     * @param legalAgeOfVoting - age where it's legal to vote
+     * @return a bitmap with a bit set for the row of each person eligible to vote
+     */
+    public BitSet eligible(int legalAgeOfVoting) {
+        int[] ages = this.ages;
+        long[] words = new long[(size + 63) >>> 6];
+        for (int word = 0; word < words.length; word++) {
+            int base = word << 6;
+            int end = Math.min(size, base + 64);
+            long bits = 0L;
+            for (int i = base; i < end; i++) {
+                bits |= (ages[i] >= legalAgeOfVoting ? 1L : 0L) << (i - base);
+            }
+            words[word] = bits;
+        }
+        return BitSet.valueOf(words);
+    }
+
+    /**
+     * @param legalAgeOfVoting - age where it's legal to vote
+     * @return the rows of the people eligible to vote, in ascending order
+     */
+    public IntStream eligibleRows(int legalAgeOfVoting) {
+        return eligible(legalAgeOfVoting).stream();
+    }
+
+    /**
+     * Filters the table by age, creating Person objects only for those eligible to vote.
+     *
+     * @param legalAgeOfVoting - age where it's legal to vote
+     * @return a list of eligible voters, in table order
+     *
+     * @see VotingRules#eligibleVoters(List, int)
+     */
+    public List<Person> eligibleVoters(int legalAgeOfVoting) {
+        BitSet eligible = eligible(legalAgeOfVoting);
+        List<Person> voters = new ArrayList<>(eligible.cardinality());
+        for (int row = eligible.nextSetBit(0); row >= 0; row = eligible.nextSetBit(row + 1)) {
+            voters.add(personAt(row));
+        }
+        return voters;
+    }
+
+    private void checkRow(int row) {
+        if (row < 0 || row >= size) {
+            throw new IndexOutOfBoundsException("Row: " + row + ", Size: " + size);
+        }
+    }
+}
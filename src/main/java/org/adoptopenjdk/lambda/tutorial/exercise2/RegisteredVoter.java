@@ -22,6 +22,10 @@ package org.adoptopenjdk.lambda.tutorial.exercise2;
  * #L%
  */
 
+import org.adoptopenjdk.lambda.tutorial.util.WeakInterner;
+
+import java.util.Objects;
+
 /**
  * Lambda Tutorial -- Adopt Open JDK
  *
@@ -29,10 +33,23 @@ package org.adoptopenjdk.lambda.tutorial.exercise2;
  */
 public final class RegisteredVoter {
 
+    private static final WeakInterner<RegisteredVoter> INTERNED = new WeakInterner<>();
+
     private final String electorId;
+    private final int hash;
 
     public RegisteredVoter(String electorId) {
         this.electorId = electorId;
+        this.hash = Objects.hashCode(electorId);
+    }
+
+    /**
+     * @return the canonical instance equal to this voter
+     *
+     * @see WeakInterner
+     */
+    public RegisteredVoter intern() {
+        return INTERNED.intern(this);
     }
 
     @Override
@@ -42,6 +59,7 @@ public final class RegisteredVoter {
 
         RegisteredVoter that = (RegisteredVoter) o;
 
+        if (hash != that.hash) return false;
         if (!electorId.equals(that.getElectorId())) return false;
 
         return true;
@@ -49,7 +67,7 @@ public final class RegisteredVoter {
 
     @Override
     public int hashCode() {
-        return electorId.hashCode();
+        return hash;
     }
 
     @Override
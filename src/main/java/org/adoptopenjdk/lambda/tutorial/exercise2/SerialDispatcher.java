@@ -0,0 +1,59 @@
+package org.adoptopenjdk.lambda.tutorial.exercise2;
+
+/*
+ * #%L
+ * lambda-tutorial
+ * %%
+ * Copyright (C) 2013 Adopt OpenJDK
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 2 of the 
+ * License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public 
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/gpl-2.0.html>.
+ * #L%
+ */
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Runs notifications one at a time, in the order they were queued, without holding any lock of the notifier.
+ *
+ * Notifications are queued while the notifier holds its own lock, so the queue order is the order of the changes, and
+ * are dispatched once the lock is released. Whichever thread finds the queue idle drains it; other threads leave their
+ * notifications to it rather than waiting, so a listener may safely change the notifier, from its own thread or any
+ * other, without deadlock. A notification is therefore delivered either before <code>dispatch</code> returns, or by
+ * the thread already dispatching.
+ */
+final class SerialDispatcher {
+
+    private final Queue<Runnable> pending = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean dispatching = new AtomicBoolean();
+
+    void enqueue(Runnable notification) {
+        pending.add(notification);
+    }
+
+    void dispatch() {
+        while (!pending.isEmpty() && dispatching.compareAndSet(false, true)) {
+            try {
+                Runnable notification;
+                while ((notification = pending.poll()) != null) {
+                    notification.run();
+                }
+            } finally {
+                dispatching.set(false);
+            }
+        }
+    }
+}
@@ -0,0 +1,157 @@
+package org.adoptopenjdk.lambda.tutorial.exercise2;
+
+/*
+ * #%L
+ * lambda-tutorial
+ * %%
+ * Copyright (C) 2013 Adopt OpenJDK
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 2 of the 
+ * License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public 
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/gpl-2.0.html>.
+ * #L%
+ */
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A live view of the unspoiled ballots in a {@link BallotBox}, maintained incrementally as ballots are added and
+ * removed, rather than recomputed on every read.
+ *
+ * Reading the view costs nothing beyond reading the underlying set. Listeners of the view are notified only of the
+ * unspoiled ballots in each batch of changes to the box, in order, after the view's lock has been released, in the
+ * same way as listeners of a BallotBox. Closing the view detaches it from the box.
+ *
+ * @see ElectoralDistrict#unspoiledBallots(Set)
+ */
+public final class UnspoiledBallotView implements BallotBox.Listener, AutoCloseable {
+
+    private final BallotBox ballotBox;
+    private final Set<Ballot> unspoiled = ConcurrentHashMap.newKeySet();
+    private final Set<Ballot> readOnlyUnspoiled = Collections.unmodifiableSet(unspoiled);
+    private final SerialDispatcher dispatcher = new SerialDispatcher();
+    private volatile List<BallotBox.Listener> listeners = Collections.emptyList();
+
+    private UnspoiledBallotView(BallotBox ballotBox) {
+        this.ballotBox = ballotBox;
+    }
+
+    /**
+     * Creates a view of the given ballot box, which includes the unspoiled ballots already in the box.
+     *
+     * @param ballotBox - ballot box to observe
+     * @return a live view of the unspoiled ballots
+     */
+    public static UnspoiledBallotView of(BallotBox ballotBox) {
+        UnspoiledBallotView view = new UnspoiledBallotView(ballotBox);
+        synchronized (view) {
+            view.unspoiled.addAll(withoutSpoiled(ballotBox.subscribeToChanges(view)));
+        }
+        return view;
+    }
+
+    /**
+     * @return an unmodifiable, live view of the unspoiled ballots
+     */
+    public Set<Ballot> ballots() {
+        return readOnlyUnspoiled;
+    }
+
+    public int size() {
+        return unspoiled.size();
+    }
+
+    /**
+     * Registers a listener, which is first notified of every unspoiled ballot currently in the view as an addition,
+     * then of each later change.
+     *
+     * @param listener - listener to notify of changes
+     */
+    public void subscribe(BallotBox.Listener listener) {
+        synchronized (this) {
+            List<BallotBox.Listener> registered = new ArrayList<>(listeners);
+            registered.add(listener);
+            listeners = Collections.unmodifiableList(registered);
+            if (!unspoiled.isEmpty()) {
+                publish(Collections.singletonList(listener),
+                        Collections.unmodifiableSet(new HashSet<>(unspoiled)), Collections.emptySet());
+            }
+        }
+        dispatcher.dispatch();
+    }
+
+    /**
+     * Deregisters a listener. It is not notified of any change which has yet to be delivered.
+     *
+     * @param listener - listener to stop notifying
+     */
+    public synchronized void unsubscribe(BallotBox.Listener listener) {
+        List<BallotBox.Listener> remaining = new ArrayList<>(listeners);
+        remaining.remove(listener);
+        listeners = Collections.unmodifiableList(remaining);
+    }
+
+    /**
+     * Stops observing the ballot box. The view keeps the ballots it holds, but no longer changes.
+     */
+    @Override
+    public void close() {
+        ballotBox.unsubscribe(this);
+    }
+
+    @Override
+    public void ballotsChanged(Set<Ballot> added, Set<Ballot> removed) {
+        Set<Ballot> unspoiledAdded = withoutSpoiled(added);
+        Set<Ballot> unspoiledRemoved = withoutSpoiled(removed);
+        if (unspoiledAdded.isEmpty() && unspoiledRemoved.isEmpty()) {
+            return;
+        }
+        synchronized (this) {
+            unspoiled.addAll(unspoiledAdded);
+            unspoiled.removeAll(unspoiledRemoved);
+            publish(listeners, unspoiledAdded, unspoiledRemoved);
+        }
+        dispatcher.dispatch();
+    }
+
+    /**
+     * Queues a change for the given listeners, with the view's lock held so that changes are queued in order.
+     */
+    private void publish(List<BallotBox.Listener> targets, Set<Ballot> added, Set<Ballot> removed) {
+        if (targets.isEmpty()) {
+            return;
+        }
+        dispatcher.enqueue(() -> {
+            for (BallotBox.Listener listener : targets) {
+                if (listeners.contains(listener)) {
+                    listener.ballotsChanged(added, removed);
+                }
+            }
+        });
+    }
+
+    private static Set<Ballot> withoutSpoiled(Set<Ballot> ballots) {
+        Set<Ballot> kept = new HashSet<>();
+        for (Ballot ballot : ballots) {
+            if (!ballot.isSpoiled()) {
+                kept.add(ballot);
+            }
+        }
+        return kept.size() == ballots.size() ? ballots : Collections.unmodifiableSet(kept);
+    }
+}
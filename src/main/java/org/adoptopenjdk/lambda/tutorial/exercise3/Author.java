@@ -22,25 +22,74 @@ package org.adoptopenjdk.lambda.tutorial.exercise3;
  * #L%
  */
 
+import org.adoptopenjdk.lambda.tutorial.util.WeakInterner;
+
+import java.io.IOException;
+import java.util.Objects;
+
 /**
  * Class representing an author
  */
 public final class Author {
 
+    private static final WeakInterner<Author> INTERNED = new WeakInterner<>();
+
     private final String firstName;
     private final String lastName;
+    private final int hash;
+    private String fullName;
 
     public Author(String firstName, String lastName) {
         this.firstName = firstName;
         this.lastName = lastName;
+        this.hash = 31 * Objects.hashCode(firstName) + Objects.hashCode(lastName);
+    }
+
+    /**
+     * @return the canonical instance equal to this author
+     *
+     * @see WeakInterner
+     */
+    public Author intern() {
+        return INTERNED.intern(this);
     }
 
     /**
      * Return the firstName and LastName
+     *
+     * The full name is computed on first use, then shared by every later call.
+     *
      * @return Full name
      */
     public String fullName() {
-        return firstName + " " + lastName;
+        String name = fullName;
+        if (name == null) {
+            name = firstName + " " + lastName;
+            fullName = name;
+        }
+        return name;
+    }
+
+    /**
+     * Append the same text as {@link #fullName()} to the given <code>stringBuilder</code>, without creating a String.
+     *
+     * @param stringBuilder - string builder to append to
+     * @return the given string builder
+     */
+    public StringBuilder appendFullNameTo(StringBuilder stringBuilder) {
+        return stringBuilder.append(firstName).append(' ').append(lastName);
+    }
+
+    /**
+     * Append the same text as {@link #fullName()} to the given <code>appendable</code>, without creating a String.
+     *
+     * @param appendable - destination to append to
+     * @return the given appendable
+     * @throws IOException if the appendable fails
+     */
+    public <A extends Appendable> A appendFullNameTo(A appendable) throws IOException {
+        appendable.append(firstName).append(' ').append(lastName);
+        return appendable;
     }
 
     @Override
@@ -50,6 +99,7 @@ public final class Author {
 
         Author author = (Author) o;
 
+        if (hash != author.hash) return false;
         if (!firstName.equals(author.getFirstName())) return false;
         if (!lastName.equals(author.getLastName())) return false;
 
@@ -58,9 +108,7 @@ public final class Author {
 
     @Override
     public int hashCode() {
-        int result = firstName.hashCode();
-        result = 31 * result + lastName.hashCode();
-        return result;
+        return hash;
     }
 
     public String getFirstName() {
@@ -22,19 +22,46 @@ package org.adoptopenjdk.lambda.tutorial.exercise3;
  * #L%
  */
 
+import org.adoptopenjdk.lambda.tutorial.util.WeakInterner;
+
+import java.util.Objects;
+
 /**
  * Class representing a book
  */
 public final class Book {
     
+    private static final WeakInterner<Book> INTERNED = new WeakInterner<>();
+
     private final String title;
     private final Author author;
     private final Publisher publisher;
+    private final int hash;
 
     public Book(String title, Author author, Publisher publisher) {
         this.title = title;
         this.author = author;
         this.publisher = publisher;
+        int result = Objects.hashCode(title);
+        result = 31 * result + Objects.hashCode(author);
+        result = 31 * result + Objects.hashCode(publisher);
+        this.hash = result;
+    }
+
+    /**
+     * Returns the canonical instance equal to this book, whose author and publisher are themselves canonical.
+     *
+     * @return the canonical instance equal to this book
+     *
+     * @see WeakInterner
+     */
+    public Book intern() {
+        Author canonicalAuthor = author == null ? null : author.intern();
+        Publisher canonicalPublisher = publisher == null ? null : publisher.intern();
+        Book candidate = canonicalAuthor == author && canonicalPublisher == publisher
+                ? this
+                : new Book(title, canonicalAuthor, canonicalPublisher);
+        return INTERNED.intern(candidate);
     }
 
     @Override
@@ -44,6 +71,7 @@ public final class Book {
 
         Book book = (Book) o;
 
+        if (hash != book.hash) return false;
         if (!author.equals(book.getAuthor())) return false;
         if (!publisher.equals(book.getPublisher())) return false;
         if (!title.equals(book.getTitle())) return false;
@@ -53,10 +81,7 @@ public final class Book {
 
     @Override
     public int hashCode() {
-        int result = title.hashCode();
-        result = 31 * result + author.hashCode();
-        result = 31 * result + publisher.hashCode();
-        return result;
+        return hash;
     }
 
     public String getTitle() {
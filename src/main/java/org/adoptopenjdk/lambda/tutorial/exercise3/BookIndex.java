@@ -0,0 +1,205 @@
+package org.adoptopenjdk.lambda.tutorial.exercise3;
+
+/*
+ * #%L
+ * lambda-tutorial
+ * %%
+ * Copyright (C) 2013 Adopt OpenJDK
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 2 of the 
+ * License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public 
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/gpl-2.0.html>.
+ * #L%
+ */
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.RandomAccess;
+import java.util.stream.IntStream;
+
+/**
+ * An index of a catalog of books, which finds the books by an Author, or from a Publisher, without rescanning the
+ * catalog.
+ *
+ * Each book is given an id, its position in the catalog. For each distinct Author and Publisher the index holds a
+ * compact, ordered list of the ids of their books.
+ *
+ * Not safe for use by multiple threads while books are being added.
+ *
+ * @see Books
+ */
+public final class BookIndex {
+
+    private final List<Book> books;
+    private final Map<Author, Postings> byAuthor;
+    private final Map<Publisher, Postings> byPublisher;
+
+    public BookIndex() {
+        this(new ArrayList<>(), new HashMap<>(), new HashMap<>());
+    }
+
+    private BookIndex(List<Book> books, Map<Author, Postings> byAuthor, Map<Publisher, Postings> byPublisher) {
+        this.books = books;
+        this.byAuthor = byAuthor;
+        this.byPublisher = byPublisher;
+    }
+
+    /**
+     * @param books - catalog to index, in order
+     * @return an index of the given books
+     */
+    public static BookIndex of(Collection<Book> books) {
+        BookIndex index = new BookIndex();
+        books.forEach(book -> index.add(book));
+        return index;
+    }
+
+    /**
+     * Builds the index in parallel, each thread indexing a part of the catalog before the parts are merged in order.
+     *
+     * @param books - catalog to index, in order
+     * @return an index of the given books
+     */
+    public static BookIndex ofInParallel(List<Book> books) {
+        List<Book> catalog = new ArrayList<>(books);
+        Partial partial = IntStream.range(0, catalog.size()).parallel()
+                .collect(() -> new Partial(),
+                         (part, id) -> part.add(catalog.get(id), id),
+                         (left, right) -> left.merge(right));
+        return new BookIndex(catalog, partial.byAuthor, partial.byPublisher);
+    }
+
+    /**
+     * Adds a book to the end of the catalog, and indexes it.
+     *
+     * @param book - book to add
+     * @return the id of the book
+     */
+    public int add(Book book) {
+        int id = books.size();
+        books.add(book);
+        postingsFor(byAuthor, book.getAuthor()).add(id);
+        postingsFor(byPublisher, book.getPublisher()).add(id);
+        return id;
+    }
+
+    public int size() {
+        return books.size();
+    }
+
+    /**
+     * @param id - id of a book, as returned by {@link #add(Book)}
+     * @return the book with the given id
+     */
+    public Book get(int id) {
+        return books.get(id);
+    }
+
+    /**
+     * @param author - author to look up
+     * @return the books by the author, in catalog order
+     */
+    public List<Book> booksBy(Author author) {
+        return booksIn(byAuthor.get(author));
+    }
+
+    /**
+     * @param publisher - publisher to look up
+     * @return the books from the publisher, in catalog order
+     */
+    public List<Book> booksPublishedBy(Publisher publisher) {
+        return booksIn(byPublisher.get(publisher));
+    }
+
+    private List<Book> booksIn(Postings postings) {
+        return postings == null ? Collections.emptyList() : new PostedBooks(postings.ids, postings.size);
+    }
+
+    private static <K> Postings postingsFor(Map<K, Postings> index, K key) {
+        return index.computeIfAbsent(key, k -> new Postings());
+    }
+
+    /**
+     * An unmodifiable list of the books with the given ids. Postings are only ever appended to, so the ids it was
+     * given remain valid as later books are added.
+     */
+    private final class PostedBooks extends AbstractList<Book> implements RandomAccess {
+        private final int[] ids;
+        private final int size;
+
+        PostedBooks(int[] ids, int size) {
+            this.ids = ids;
+            this.size = size;
+        }
+
+        @Override
+        public Book get(int index) {
+            if (index < 0 || index >= size) {
+                throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+            }
+            return books.get(ids[index]);
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+    }
+
+    /**
+     * A growable list of book ids, in ascending order.
+     */
+    private static final class Postings {
+        private int[] ids = new int[4];
+        private int size;
+
+        void add(int id) {
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+            }
+            ids[size++] = id;
+        }
+
+        void addAll(Postings later) {
+            if (size + later.size > ids.length) {
+                ids = Arrays.copyOf(ids, Math.max(size + later.size, size * 2));
+            }
+            System.arraycopy(later.ids, 0, ids, size, later.size);
+            size += later.size;
+        }
+    }
+
+    /**
+     * The index of one part of a catalog, built during a parallel bulk build.
+     */
+    private static final class Partial {
+        private final Map<Author, Postings> byAuthor = new HashMap<>();
+        private final Map<Publisher, Postings> byPublisher = new HashMap<>();
+
+        void add(Book book, int id) {
+            postingsFor(byAuthor, book.getAuthor()).add(id);
+            postingsFor(byPublisher, book.getPublisher()).add(id);
+        }
+
+        void merge(Partial later) {
+            later.byAuthor.forEach((author, postings) -> postingsFor(byAuthor, author).addAll(postings));
+            later.byPublisher.forEach((publisher, postings) -> postingsFor(byPublisher, publisher).addAll(postings));
+        }
+    }
+}
@@ -0,0 +1,191 @@
+package org.adoptopenjdk.lambda.tutorial.exercise3;
+
+/*
+ * #%L
+ * lambda-tutorial
+ * %%
+ * Copyright (C) 2013 Adopt OpenJDK
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 2 of the 
+ * License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public 
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/gpl-2.0.html>.
+ * #L%
+ */
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collector;
+
+/**
+ * The titles, author names and publishers of a collection of books, any combination of which can be computed in a
+ * single pass over the books.
+ *
+ * @see Books
+ */
+public final class BookProjection {
+
+    /**
+     * The projections which can be computed.
+     */
+    public enum Field {
+        TITLES,
+        AUTHOR_NAMES,
+        PUBLISHERS
+    }
+
+    private final Set<Field> fields;
+    private final List<String> titles;
+    private final List<String> namesOfAuthors;
+    private final Set<Publisher> publishers;
+
+    private BookProjection(Set<Field> fields, List<String> titles, List<String> namesOfAuthors, Set<Publisher> publishers) {
+        this.fields = fields;
+        this.titles = Collections.unmodifiableList(titles);
+        this.namesOfAuthors = Collections.unmodifiableList(namesOfAuthors);
+        this.publishers = Collections.unmodifiableSet(publishers);
+    }
+
+    /**
+     * Project the given books in a single pass.
+     *
+     * @param books - books to project
+     * @param fields - projections to compute
+     * @return the requested projections of the books
+     */
+    public static BookProjection of(List<Book> books, Field... fields) {
+        return books.stream().collect(projecting(fields));
+    }
+
+    /**
+     * Project the given books in a single, parallel pass. Titles and author names remain in the order of
+     * <code>books</code>.
+     *
+     * @param books - books to project
+     * @param fields - projections to compute
+     * @return the requested projections of the books
+     */
+    public static BookProjection ofInParallel(List<Book> books, Field... fields) {
+        return books.parallelStream().collect(projecting(fields));
+    }
+
+    /**
+     * Apply a mapping of Books to their author's full names, as {@link Books#namesOfAuthorsOf(List)}, where every book
+     * by the same author shares a single String instance of that author's name.
+     *
+     * @param books - books to transform
+     * @return list of author full names
+     */
+    public static List<String> sharedNamesOfAuthorsOf(List<Book> books) {
+        Map<Author, String> namesByAuthor = new HashMap<>();
+        List<String> names = new ArrayList<>(books.size());
+        for (Book book : books) {
+            names.add(namesByAuthor.computeIfAbsent(book.getAuthor(), author -> author.fullName()));
+        }
+        return names;
+    }
+
+    /**
+     * A Collector which computes the given projections in a single pass, suitable for use on a parallel stream.
+     * Titles and author names are collected in encounter order.
+     *
+     * @param fields - projections to compute
+     * @return collector of the requested projections
+     */
+    public static Collector<Book, ?, BookProjection> projecting(Field... fields) {
+        Set<Field> requested = fields.length == 0 ? EnumSet.noneOf(Field.class) : EnumSet.copyOf(Arrays.asList(fields));
+        boolean withTitles = requested.contains(Field.TITLES);
+        boolean withAuthorNames = requested.contains(Field.AUTHOR_NAMES);
+        boolean withPublishers = requested.contains(Field.PUBLISHERS);
+
+        return Collector.of(
+                () -> new Accumulator(),
+                (accumulator, book) -> {
+                    if (withTitles) {
+                        accumulator.titles.add(book.getTitle());
+                    }
+                    if (withAuthorNames) {
+                        accumulator.namesOfAuthors.add(book.getAuthor().fullName());
+                    }
+                    if (withPublishers) {
+                        accumulator.publishers.add(book.getPublisher());
+                    }
+                },
+                (left, right) -> left.merge(right),
+                accumulator -> new BookProjection(Collections.unmodifiableSet(requested), accumulator.titles,
+                                                  accumulator.namesOfAuthors, accumulator.publishers));
+    }
+
+    /**
+     * @return the title of each book, in order
+     * @throws IllegalStateException if titles were not projected
+     *
+     * @see Books#titlesOf(List)
+     */
+    public List<String> titles() {
+        checkProjected(Field.TITLES);
+        return titles;
+    }
+
+    /**
+     * @return the full name of the author of each book, in order
+     * @throws IllegalStateException if author names were not projected
+     *
+     * @see Books#namesOfAuthorsOf(List)
+     */
+    public List<String> namesOfAuthors() {
+        checkProjected(Field.AUTHOR_NAMES);
+        return namesOfAuthors;
+    }
+
+    /**
+     * @return the distinct publishers of the books
+     * @throws IllegalStateException if publishers were not projected
+     *
+     * @see Books#publishersRepresentedBy(List)
+     */
+    public Set<Publisher> publishers() {
+        checkProjected(Field.PUBLISHERS);
+        return publishers;
+    }
+
+    private void checkProjected(Field field) {
+        if (!fields.contains(field)) {
+            throw new IllegalStateException(field + " were not projected, only " + fields);
+        }
+    }
+
+    private static final class Accumulator {
+        private final List<String> titles = new ArrayList<>();
+        private final List<String> namesOfAuthors = new ArrayList<>();
+        private Set<Publisher> publishers = new HashSet<>();
+
+        Accumulator merge(Accumulator right) {
+            titles.addAll(right.titles);
+            namesOfAuthors.addAll(right.namesOfAuthors);
+            if (publishers.size() < right.publishers.size()) {
+                right.publishers.addAll(publishers);
+                publishers = right.publishers;
+            } else {
+                publishers.addAll(right.publishers);
+            }
+            return this;
+        }
+    }
+}
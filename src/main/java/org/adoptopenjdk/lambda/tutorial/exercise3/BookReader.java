@@ -0,0 +1,223 @@
+package org.adoptopenjdk.lambda.tutorial.exercise3;
+
+/*
+ * #%L
+ * lambda-tutorial
+ * %%
+ * Copyright (C) 2013 Adopt OpenJDK
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 2 of the 
+ * License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public 
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/gpl-2.0.html>.
+ * #L%
+ */
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Reads books lazily from delimited text, such as a CSV or TSV catalog dump, without holding the whole input in
+ * memory.
+ *
+ * Each line holds one book as four fields: title, author's first name, author's last name and publisher. Fields are
+ * separated by a single delimiter character and are not quoted, so they must not contain the delimiter. Empty lines
+ * are skipped. Bytes are decoded through a reusable CharBuffer, and the authors and publishers of the books read are
+ * interned, so the memory used grows with the books retained and the distinct authors and publishers, not with the
+ * size of the input.
+ *
+ * @see BookStreams#titlesOf(Stream)
+ */
+public final class BookReader implements Closeable {
+
+    private static final int BUFFER_SIZE = 16 * 1024;
+    private static final int FIELDS = 4;
+
+    private final ReadableByteChannel channel;
+    private final CharsetDecoder decoder;
+    private final char delimiter;
+    private final ByteBuffer bytes = ByteBuffer.allocate(BUFFER_SIZE);
+    private final CharBuffer chars = CharBuffer.allocate(BUFFER_SIZE);
+    private final StringBuilder line = new StringBuilder();
+    private final String[] fields = new String[FIELDS];
+    private boolean endOfInput;
+    private long lineNumber;
+
+    public BookReader(ReadableByteChannel channel, Charset charset, char delimiter) {
+        this.channel = channel;
+        this.decoder = charset.newDecoder();
+        this.delimiter = delimiter;
+        this.chars.flip();
+    }
+
+    /**
+     * Opens a UTF-8 encoded file of delimited books.
+     *
+     * @param file - file to read
+     * @param delimiter - character separating fields, e.g. ',' or '\t'
+     * @return a reader of the file, which must be closed
+     * @throws IOException if the file cannot be opened
+     */
+    public static BookReader open(Path file, char delimiter) throws IOException {
+        return new BookReader(FileChannel.open(file, StandardOpenOption.READ), StandardCharsets.UTF_8, delimiter);
+    }
+
+    /**
+     * A lazy stream of the books read, in input order. The stream may be made parallel, in which case it is split
+     * into batches of books read in sequence. Closing the stream closes this reader.
+     *
+     * Errors reading the input are thrown as {@link UncheckedIOException}, and lines which do not hold exactly four
+     * fields as {@link IllegalArgumentException}.
+     *
+     * @return stream of books read
+     */
+    public Stream<Book> books() {
+        Iterator<Book> iterator = new Iterator<Book>() {
+            private Book next;
+
+            @Override
+            public boolean hasNext() {
+                if (next == null) {
+                    next = readBook();
+                }
+                return next != null;
+            }
+
+            @Override
+            public Book next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                Book book = next;
+                next = null;
+                return book;
+            }
+        };
+        return StreamSupport.stream(
+                Spliterators.spliteratorUnknownSize(iterator, Spliterator.ORDERED | Spliterator.NONNULL), false)
+            .onClose(() -> {
+                try {
+                    close();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    private Book readBook() {
+        try {
+            while (readLine()) {
+                if (line.length() > 0) {
+                    return parse();
+                }
+            }
+            return null;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private Book parse() {
+        int field = 0;
+        int start = 0;
+        for (int i = 0; i <= line.length(); i++) {
+            if (i == line.length() || line.charAt(i) == delimiter) {
+                if (field == FIELDS) {
+                    throw malformed();
+                }
+                fields[field++] = line.substring(start, i);
+                start = i + 1;
+            }
+        }
+        if (field != FIELDS) {
+            throw malformed();
+        }
+        return new Book(fields[0], new Author(fields[1], fields[2]).intern(), new Publisher(fields[3]).intern());
+    }
+
+    private IllegalArgumentException malformed() {
+        return new IllegalArgumentException(
+                "Expected " + FIELDS + " fields separated by '" + delimiter + "' at line " + lineNumber + ": " + line);
+    }
+
+    /**
+     * Reads the next line into <code>line</code>, without its line terminator.
+     *
+     * @return false if there are no more lines
+     */
+    private boolean readLine() throws IOException {
+        line.setLength(0);
+        while (true) {
+            while (chars.hasRemaining()) {
+                char c = chars.get();
+                if (c == '\n') {
+                    return endLine();
+                }
+                line.append(c);
+            }
+            if (endOfInput) {
+                return line.length() > 0 && endLine();
+            }
+            fill();
+        }
+    }
+
+    private boolean endLine() {
+        int last = line.length() - 1;
+        if (last >= 0 && line.charAt(last) == '\r') {
+            line.setLength(last);
+        }
+        lineNumber++;
+        return true;
+    }
+
+    private void fill() throws IOException {
+        chars.compact();
+        int read = channel.read(bytes);
+        bytes.flip();
+        check(decoder.decode(bytes, chars, read < 0));
+        if (read < 0) {
+            check(decoder.flush(chars));
+            endOfInput = true;
+        }
+        bytes.compact();
+        chars.flip();
+    }
+
+    private static void check(CoderResult result) throws IOException {
+        if (result.isError()) {
+            result.throwException();
+        }
+    }
+}
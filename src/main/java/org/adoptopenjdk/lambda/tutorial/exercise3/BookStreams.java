@@ -0,0 +1,76 @@
+package org.adoptopenjdk.lambda.tutorial.exercise3;
+
+/*
+ * #%L
+ * lambda-tutorial
+ * %%
+ * Copyright (C) 2013 Adopt OpenJDK
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 2 of the 
+ * License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public 
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/gpl-2.0.html>.
+ * #L%
+ */
+
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import static org.adoptopenjdk.lambda.tutorial.exercise3.BookProjection.Field.AUTHOR_NAMES;
+import static org.adoptopenjdk.lambda.tutorial.exercise3.BookProjection.Field.PUBLISHERS;
+import static org.adoptopenjdk.lambda.tutorial.exercise3.BookProjection.Field.TITLES;
+
+/**
+ * Projections of a stream of Books which retain only the projected values, so the books themselves can be read
+ * lazily and discarded as they go. Each is a single {@link BookProjection}, collected from the stream.
+ *
+ * @see BookReader#books()
+ */
+public final class BookStreams {
+
+    private BookStreams() {
+    }
+
+    /**
+     * Apply a mapping of a stream of Books, such as {@link BookReader#books()}, to titles. Only the titles are
+     * retained, not the books.
+     *
+     * @param books - books to transform
+     * @return unmodifiable list of book titles
+     */
+    public static List<String> titlesOf(Stream<Book> books) {
+        return books.collect(BookProjection.projecting(TITLES)).titles();
+    }
+
+    /**
+     * Apply a mapping of a stream of Books, such as {@link BookReader#books()}, to their author's full names. Only
+     * the names are retained, not the books.
+     *
+     * @param books - books to transform
+     * @return unmodifiable list of author full names
+     */
+    public static List<String> namesOfAuthorsOf(Stream<Book> books) {
+        return books.collect(BookProjection.projecting(AUTHOR_NAMES)).namesOfAuthors();
+    }
+
+    /**
+     * Apply a mapping of a stream of Books, such as {@link BookReader#books()}, to a unique set of their publishers.
+     * Only the publishers are retained, not the books.
+     *
+     * @param books - books to transform
+     * @return unmodifiable set of publishers
+     */
+    public static Set<Publisher> publishersRepresentedBy(Stream<Book> books) {
+        return books.collect(BookProjection.projecting(PUBLISHERS)).publishers();
+    }
+}
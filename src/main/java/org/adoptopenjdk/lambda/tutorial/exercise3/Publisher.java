@@ -22,15 +22,32 @@ package org.adoptopenjdk.lambda.tutorial.exercise3;
  * #L%
  */
 
+import org.adoptopenjdk.lambda.tutorial.util.WeakInterner;
+
+import java.util.Objects;
+
 /**
  * Domain object representing a Publisher
  */
 public final class Publisher {
     
+    private static final WeakInterner<Publisher> INTERNED = new WeakInterner<>();
+
     private final String name;
+    private final int hash;
 
     public Publisher(String name) {
         this.name = name;
+        this.hash = Objects.hashCode(name);
+    }
+
+    /**
+     * @return the canonical instance equal to this publisher
+     *
+     * @see WeakInterner
+     */
+    public Publisher intern() {
+        return INTERNED.intern(this);
     }
 
     @Override
@@ -40,6 +57,7 @@ public final class Publisher {
 
         Publisher publisher = (Publisher) o;
 
+        if (hash != publisher.hash) return false;
         if (!name.equals(publisher.getName())) return false;
 
         return true;
@@ -47,7 +65,7 @@ public final class Publisher {
 
     @Override
     public int hashCode() {
-        return name.hashCode();
+        return hash;
     }
 
     public String getName() {
@@ -0,0 +1,220 @@
+package org.adoptopenjdk.lambda.tutorial.exercise4;
+
+/*
+ * #%L
+ * lambda-tutorial
+ * %%
+ * Copyright (C) 2013 Adopt OpenJDK
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 2 of the 
+ * License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public 
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/gpl-2.0.html>.
+ * #L%
+ */
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A Translator which remembers the translations made by another Translator, so repeated content, such as boilerplate
+ * pages, headers and titles, is only translated once.
+ *
+ * The cache is bounded, either by a number of entries or by the total number of characters in the cached inputs and
+ * translations, evicting the least recently used translations first. It is divided into independently locked
+ * segments, so it can be shared by concurrent translations such as
+ * {@link DocumentTranslation#translate(Document, Translator, java.util.concurrent.Executor)}. Each segment is given
+ * an equal share of the bound, and small caches use fewer segments so that each share stays useful.
+ *
+ * The delegate Translator must always give the same translation for the same input.
+ */
+public final class CachingTranslator implements Translator {
+
+    private static final int MAX_SEGMENTS = 16;
+    private static final int MIN_SEGMENT_ENTRIES = 8;
+    private static final int MIN_SEGMENT_CHARACTERS = 16 * 1024;
+
+    private final Translator delegate;
+    private final Segment[] segments;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    private CachingTranslator(Translator delegate, int segmentCount, long maxEntries, long maxCharacters) {
+        this.delegate = delegate;
+        this.segments = new Segment[segmentCount];
+        for (int i = 0; i < segmentCount; i++) {
+            segments[i] = new Segment(maxEntries / segmentCount, maxCharacters / segmentCount);
+        }
+    }
+
+    /**
+     * @param delegate - translator to cache the translations of
+     * @param maxEntries - the maximum number of translations to cache
+     * @return a caching translator bounded by number of entries
+     */
+    public static CachingTranslator boundedByEntries(Translator delegate, int maxEntries) {
+        if (maxEntries <= 0) {
+            throw new IllegalArgumentException("Maximum entries must be positive: " + maxEntries);
+        }
+        int segmentCount = segmentsFor(maxEntries / MIN_SEGMENT_ENTRIES);
+        return new CachingTranslator(delegate, segmentCount, maxEntries, Long.MAX_VALUE);
+    }
+
+    /**
+     * @param delegate - translator to cache the translations of
+     * @param maxCharacters - the maximum total length of the cached inputs and their translations
+     * @return a caching translator bounded by number of characters
+     */
+    public static CachingTranslator boundedByCharacters(Translator delegate, long maxCharacters) {
+        if (maxCharacters <= 0) {
+            throw new IllegalArgumentException("Maximum characters must be positive: " + maxCharacters);
+        }
+        int segmentCount = segmentsFor(maxCharacters / MIN_SEGMENT_CHARACTERS);
+        return new CachingTranslator(delegate, segmentCount, Long.MAX_VALUE, maxCharacters);
+    }
+
+    @Override
+    public String translate(String input) {
+        Segment segment = segmentFor(input);
+        String cached = segment.get(input);
+        if (cached != null) {
+            hits.increment();
+            return cached;
+        }
+        misses.increment();
+        String translated = delegate.translate(input);
+        evictions.add(segment.put(input, translated));
+        return translated;
+    }
+
+    /**
+     * Translates the inputs which are not cached as a single batch, using the delegate's
+     * {@link Translator#translateAll(List)}.
+     *
+     * @throws IllegalStateException if the delegate does not return one translation for each input, in which case
+     *         nothing is cached
+     */
+    @Override
+    public List<String> translateAll(List<String> inputs) {
+        List<String> translated = new ArrayList<>(inputs.size());
+        List<Integer> missed = new ArrayList<>();
+        List<String> missedInputs = new ArrayList<>();
+        for (String input : inputs) {
+            String cached = segmentFor(input).get(input);
+            if (cached == null) {
+                missed.add(translated.size());
+                missedInputs.add(input);
+            }
+            translated.add(cached);
+        }
+        hits.add(inputs.size() - missed.size());
+        if (missed.isEmpty()) {
+            return translated;
+        }
+
+        misses.add(missed.size());
+        List<String> delegated = delegate.translateAll(missedInputs);
+        if (delegated.size() != missedInputs.size()) {
+            throw new IllegalStateException(
+                    "Translator returned " + delegated.size() + " translations for " + missedInputs.size() + " inputs");
+        }
+        for (int i = 0; i < missed.size(); i++) {
+            String input = missedInputs.get(i);
+            String translation = delegated.get(i);
+            evictions.add(segmentFor(input).put(input, translation));
+            translated.set(missed.get(i), translation);
+        }
+        return translated;
+    }
+
+    public long hitCount() {
+        return hits.sum();
+    }
+
+    public long missCount() {
+        return misses.sum();
+    }
+
+    public long evictionCount() {
+        return evictions.sum();
+    }
+
+    /**
+     * @return the number of translations currently cached
+     */
+    public long size() {
+        long size = 0;
+        for (Segment segment : segments) {
+            size += segment.size();
+        }
+        return size;
+    }
+
+    private static int segmentsFor(long fullSegments) {
+        return (int) Math.max(1, Math.min(MAX_SEGMENTS, fullSegments));
+    }
+
+    private Segment segmentFor(String input) {
+        int hash = input.hashCode();
+        return segments[Math.floorMod(hash ^ (hash >>> 16), segments.length)];
+    }
+
+    private static final class Segment {
+        private final long maxEntries;
+        private final long maxCharacters;
+        private final LinkedHashMap<String, String> translations = new LinkedHashMap<>(16, 0.75f, true);
+        private long characters;
+
+        Segment(long maxEntries, long maxCharacters) {
+            this.maxEntries = maxEntries;
+            this.maxCharacters = maxCharacters;
+        }
+
+        synchronized String get(String input) {
+            return translations.get(input);
+        }
+
+        /**
+         * @return the number of translations evicted
+         */
+        synchronized int put(String input, String translated) {
+            String previous = translations.put(input, translated);
+            characters += weightOf(input, translated);
+            if (previous != null) {
+                characters -= weightOf(input, previous);
+            }
+
+            int evicted = 0;
+            Iterator<Map.Entry<String, String>> eldest = translations.entrySet().iterator();
+            while ((translations.size() > maxEntries || characters > maxCharacters) && eldest.hasNext()) {
+                Map.Entry<String, String> entry = eldest.next();
+                characters -= weightOf(entry.getKey(), entry.getValue());
+                eldest.remove();
+                evicted++;
+            }
+            return evicted;
+        }
+
+        synchronized int size() {
+            return translations.size();
+        }
+
+        private static long weightOf(String input, String translated) {
+            return (long) input.length() + translated.length();
+        }
+    }
+}
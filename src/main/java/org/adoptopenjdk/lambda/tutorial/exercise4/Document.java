@@ -22,21 +22,51 @@ package org.adoptopenjdk.lambda.tutorial.exercise4;
  * #L%
  */
 
+import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.Objects;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
-import static java.lang.String.format;
 import static java.util.stream.Collectors.collectingAndThen;
 
 public final class Document {
     private final String title;
     private final List<Page> pages;
+    private String footer;
+    private PageIndex index;
 
     public Document(String title, List<Page> pages) {
+        this(title, new ArrayList<>(pages), null);
+    }
+
+    private Document(String title, List<Page> ownedPages, PageIndex index) {
         this.title = title;
-        this.pages = Collections.unmodifiableList(new ArrayList<>(pages));
+        this.pages = Collections.unmodifiableList(ownedPages);
+        this.index = index;
+    }
+
+    /**
+     * Creates a document which takes ownership of the given <code>pages</code>, rather than copying them. For
+     * internal use, where the list has just been built and no other reference to it escapes.
+     */
+    static Document adopting(String title, List<Page> pages) {
+        return new Document(title, pages, null);
+    }
+
+    /**
+     * Creates a document as {@link #adopting(String, List)} does, with the length of each page already known, so
+     * that the page index can be built without reading the pages.
+     */
+    static Document adopting(String title, List<Page> pages, int[] pageLengths) {
+        if (pageLengths.length != pages.size()) {
+            throw new IllegalArgumentException(
+                    "Lengths given for " + pageLengths.length + " pages, but there are " + pages.size());
+        }
+        return new Document(title, pages, new PageIndex(pageLengths));
     }
 
     public List<Page> getPages() {
@@ -47,13 +77,96 @@ public final class Document {
         return this.title;
     }
 
+    /**
+     * @return the number of characters on each page, in page order
+     */
+    public IntStream pageLengths() {
+        return Arrays.stream(index().lengths);
+    }
+
+    /**
+     * @return the number of characters on all pages of this document
+     */
+    public long length() {
+        long[] offsets = index().offsets;
+        return offsets[offsets.length - 1];
+    }
+
+    /**
+     * @param pageNumber - zero-based position of a page
+     * @return the character offset, within the whole document, at which the given page starts
+     */
+    public long offsetOf(int pageNumber) {
+        long[] offsets = index().offsets;
+        if (pageNumber < 0 || pageNumber >= pages.size()) {
+            throw new IndexOutOfBoundsException("Page: " + pageNumber + ", Pages: " + pages.size());
+        }
+        return offsets[pageNumber];
+    }
+
+    /**
+     * Finds the page holding the character at the given <code>offset</code> within the whole document, in
+     * O(log pages). Empty pages hold no characters, so are never returned.
+     *
+     * @param offset - character offset, from zero to {@link #length()} exclusive
+     * @return the zero-based position of the page holding that character
+     */
+    public int pageAt(long offset) {
+        long[] offsets = index().offsets;
+        if (offset < 0 || offset >= offsets[offsets.length - 1]) {
+            throw new IndexOutOfBoundsException("Offset: " + offset + ", Length: " + offsets[offsets.length - 1]);
+        }
+        int low = 0;
+        int high = offsets.length - 2;
+        while (low < high) {
+            int middle = (low + high + 1) >>> 1;
+            if (offsets[middle] <= offset) {
+                low = middle;
+            } else {
+                high = middle - 1;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * The index is computed on first use, and shared by later calls. Since it is immutable, a race between threads
+     * computing it at once is harmless.
+     */
+    private PageIndex index() {
+        PageIndex index = this.index;
+        if (index == null) {
+            index = PageIndex.of(pages);
+            this.index = index;
+        }
+        return index;
+    }
+
     private Page appendFooter(Page original) {
-        String footer = "Document: " + getTitle();
-        return new Page(format("%s%n%s", original.getContent(), footer));
+        return original.append(footer());
+    }
+
+    /**
+     * The footer is computed once per document, and shared by every page it is appended to.
+     */
+    private String footer() {
+        String footer = this.footer;
+        if (footer == null) {
+            footer = footerFor(getTitle());
+            this.footer = footer;
+        }
+        return footer;
+    }
+
+    /**
+     * @return the text which {@link #copyWithFooter()} appends to each page of a document with the given title
+     */
+    static String footerFor(String title) {
+        return System.lineSeparator() + "Document: " + title;
     }
 
     private Document copyWithPages(List<Page> newPages) {
-        return new Document(title, newPages);
+        return adopting(title, newPages);
     }
 
     public Document copyWithFooter() {
@@ -62,15 +175,121 @@ public final class Document {
             .collect(collectingAndThen(Collectors.<Page>toList(), pages -> copyWithPages(pages)));
     }
 
+    private static final class PageIndex {
+        private final int[] lengths;
+        private final long[] offsets;
+
+        PageIndex(int[] lengths) {
+            this.lengths = lengths;
+            this.offsets = new long[lengths.length + 1];
+            for (int i = 0; i < lengths.length; i++) {
+                offsets[i + 1] = offsets[i] + lengths[i];
+            }
+        }
+
+        static PageIndex of(List<Page> pages) {
+            int[] lengths = new int[pages.size()];
+            for (int i = 0; i < lengths.length; i++) {
+                lengths[i] = pages.get(i).length();
+            }
+            return new PageIndex(lengths);
+        }
+    }
+
+    /**
+     * A page of content, held as a rope: either a single String, or another Page followed by a suffix.
+     *
+     * Deriving a page with extra content, such as a footer, references the original page rather than copying it, so
+     * the cost is one small allocation regardless of the size of the page. The content of a derived page is only
+     * concatenated the first time {@link #getContent()} is called, and kept for later calls; prefer {@link #length()}
+     * and {@link #appendTo(Appendable)} where the content is not needed as a single String.
+     */
     public static final class Page {
+        private final Page base;
         private final String content;
+        private final int length;
+        private String flattened;
 
+        /**
+         * @param content - content of the page, which must not be null
+         */
         public Page(String content) {
-            this.content = content;
+            this.base = null;
+            this.content = Objects.requireNonNull(content, "Page content must not be null");
+            this.length = content.length();
+        }
+
+        private Page(Page base, String suffix) {
+            this.base = base;
+            this.content = Objects.requireNonNull(suffix, "Page suffix must not be null");
+            this.length = Math.addExact(base.length, suffix.length());
         }
 
         public String getContent() {
-            return this.content;
+            if (base == null) {
+                return this.content;
+            }
+            String flattened = this.flattened;
+            if (flattened == null) {
+                flattened = appendTo(new StringBuilder(length)).toString();
+                this.flattened = flattened;
+            }
+            return flattened;
+        }
+
+        /**
+         * @return the number of characters in this page's content
+         */
+        public int length() {
+            return length;
+        }
+
+        /**
+         * Creates a page with the given <code>suffix</code> after the content of this page, sharing this page rather
+         * than copying it.
+         *
+         * @param suffix - content to follow this page's content
+         * @return the new page
+         */
+        Page append(String suffix) {
+            return new Page(this, suffix);
+        }
+
+        public StringBuilder appendTo(StringBuilder stringBuilder) {
+            for (String segment : segments()) {
+                stringBuilder.append(segment);
+            }
+            return stringBuilder;
+        }
+
+        public <A extends Appendable> A appendTo(A appendable) throws IOException {
+            for (String segment : segments()) {
+                appendable.append(segment);
+            }
+            return appendable;
+        }
+
+        /**
+         * Walks back along the chain of pages this page was derived from, iteratively rather than recursively, so
+         * however many times a page has been derived from, its content can be read without exhausting the stack. The
+         * walk stops early at any page whose content has already been concatenated.
+         *
+         * @return the Strings which make up this page's content, in order
+         */
+        List<String> segments() {
+            List<String> segments = new ArrayList<>();
+            for (Page page = this; page != null; page = page.base) {
+                String flattened = page.flattened;
+                if (flattened != null) {
+                    segments.add(flattened);
+                    break;
+                }
+                segments.add(page.content);
+            }
+            if (segments.size() > 1) {
+                Collections.reverse(segments);
+            }
+            return segments;
         }
     }
 }
@@ -0,0 +1,257 @@
+package org.adoptopenjdk.lambda.tutorial.exercise4;
+
+/*
+ * #%L
+ * lambda-tutorial
+ * %%
+ * Copyright (C) 2013 Adopt OpenJDK
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 2 of the 
+ * License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public 
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/gpl-2.0.html>.
+ * #L%
+ */
+
+import org.adoptopenjdk.lambda.tutorial.exercise4.Document.Page;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.AbstractList;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * Documents stored in a page-indexed file, and read through a memory mapping, so that only the pages which are
+ * accessed are ever decoded onto the heap.
+ *
+ * The file starts with a header: a magic number, the number of pages, and the title as length-prefixed UTF-8. The
+ * header is followed by a table of the length in characters of each page, and a table of the offset in bytes, from
+ * the start of the file, of each page's UTF-8 content, with one more entry marking the end of the last page. The
+ * page contents follow, in order. All numbers are big-endian.
+ *
+ * A mapped document is an ordinary {@link Document}, so it can be printed, translated, and counted by
+ * {@link Documents} as usual. Each call to <code>get</code> on its pages decodes that page afresh, and the page is
+ * garbage once the caller is done with it. The page lengths in the file build the document's page index, so
+ * {@link Document#pageLengths()} and {@link Document#pageAt(long)} decode nothing.
+ */
+public final class DocumentFile {
+
+    private static final int MAGIC = 0x4C544443;
+    private static final int HEADER_SIZE = 3 * Integer.BYTES;
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private DocumentFile() {
+    }
+
+    /**
+     * Maps a document file into memory. Files larger than a single mapping allows are mapped in several segments,
+     * each holding a whole number of pages.
+     *
+     * @param file - file to map
+     * @return a document whose pages are decoded from the file on demand
+     * @throws IOException if the file cannot be mapped, or is not a document file
+     */
+    public static Document map(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long fileSize = channel.size();
+            ByteBuffer header = read(channel, 0, HEADER_SIZE, file);
+            if (header.getInt() != MAGIC) {
+                throw new IOException(file + " is not a document file");
+            }
+            int pageCount = header.getInt();
+            int titleSize = header.getInt();
+            long tablesSize = (long) pageCount * Integer.BYTES + ((long) pageCount + 1) * Long.BYTES;
+            if (pageCount < 0 || titleSize < 0 || HEADER_SIZE + titleSize + tablesSize > fileSize) {
+                throw new IOException(file + " has a corrupt header");
+            }
+
+            ByteBuffer tables = read(channel, HEADER_SIZE, titleSize + (int) tablesSize, file);
+            byte[] title = new byte[titleSize];
+            tables.get(title);
+            int[] lengths = new int[pageCount];
+            for (int i = 0; i < pageCount; i++) {
+                lengths[i] = tables.getInt();
+            }
+            long[] offsets = new long[pageCount + 1];
+            for (int i = 0; i <= pageCount; i++) {
+                offsets[i] = tables.getLong();
+                if (offsets[i] < HEADER_SIZE + titleSize + tablesSize || offsets[i] > fileSize
+                        || (i > 0 && offsets[i] < offsets[i - 1]) || (i < pageCount && lengths[i] < 0)) {
+                    throw new IOException(file + " has a corrupt page table at page " + i);
+                }
+            }
+
+            MappedPages pages = new MappedPages(offsets);
+            pages.mapSegments(channel, file);
+            return Document.adopting(new String(title, StandardCharsets.UTF_8), pages, lengths);
+        }
+    }
+
+    /**
+     * Writes a document to a file in the format read by {@link #map(Path)}.
+     *
+     * The document is written to a temporary file in the same directory, which is then moved over the given
+     * <code>file</code> atomically, so the file is never seen half written, and is left as it was if writing fails.
+     * Existing content is replaced rather than overwritten, so the document may be one mapped from the same file:
+     * its pages are read from the original content until the move, and pages are encoded one at a time.
+     *
+     * @param file - file to write, replacing any existing content
+     * @param document - document to write
+     * @throws IOException if the file cannot be written
+     */
+    public static void write(Path file, Document document) throws IOException {
+        List<Page> pages = document.getPages();
+        byte[] title = document.getTitle().getBytes(StandardCharsets.UTF_8);
+        int pageCount = pages.size();
+        long tablesSize = (long) pageCount * Integer.BYTES + ((long) pageCount + 1) * Long.BYTES;
+        if (title.length + tablesSize > Integer.MAX_VALUE - HEADER_SIZE) {
+            throw new IllegalArgumentException("Document has too many pages to write: " + pageCount);
+        }
+
+        Path temporary = Files.createTempFile(file.toAbsolutePath().getParent(), file.getFileName().toString(), ".tmp");
+        try {
+            try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.WRITE)) {
+                writeContent(channel, pages, title, (int) tablesSize);
+            }
+            Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException | RuntimeException | Error e) {
+            try {
+                Files.deleteIfExists(temporary);
+            } catch (IOException suppressed) {
+                e.addSuppressed(suppressed);
+            }
+            throw e;
+        }
+    }
+
+    private static void writeContent(FileChannel channel, List<Page> pages, byte[] title, int tablesSize)
+            throws IOException {
+        int pageCount = pages.size();
+        ByteBuffer tables = ByteBuffer.allocate(HEADER_SIZE + title.length + tablesSize);
+        tables.putInt(MAGIC).putInt(pageCount).putInt(title.length).put(title);
+        int lengthsStart = tables.position();
+        long offset = tables.capacity();
+        tables.position(lengthsStart + pageCount * Integer.BYTES);
+        tables.putLong(offset);
+
+        ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+        channel.position(offset);
+        for (int i = 0; i < pageCount; i++) {
+            Page page = pages.get(i);
+            tables.putInt(lengthsStart + i * Integer.BYTES, page.length());
+            byte[] content = page.getContent().getBytes(StandardCharsets.UTF_8);
+            if (buffer.remaining() < content.length) {
+                drain(buffer, channel);
+            }
+            if (buffer.remaining() < content.length) {
+                write(ByteBuffer.wrap(content), channel);
+            } else {
+                buffer.put(content);
+            }
+            offset += content.length;
+            tables.putLong(offset);
+        }
+        drain(buffer, channel);
+
+        tables.clear();
+        channel.position(0);
+        write(tables, channel);
+    }
+
+    private static ByteBuffer read(FileChannel channel, long position, int size, Path file) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(size);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                throw new IOException(file + " ended unexpectedly");
+            }
+        }
+        buffer.flip();
+        return buffer;
+    }
+
+    private static void drain(ByteBuffer buffer, FileChannel channel) throws IOException {
+        buffer.flip();
+        write(buffer, channel);
+        buffer.clear();
+    }
+
+    private static void write(ByteBuffer buffer, FileChannel channel) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    private static final class MappedPages extends AbstractList<Page> implements RandomAccess {
+        private final long[] offsets;
+        private final int[] segmentOf;
+        private ByteBuffer[] segments;
+        private long[] segmentStarts;
+
+        MappedPages(long[] offsets) {
+            this.offsets = offsets;
+            this.segmentOf = new int[offsets.length - 1];
+        }
+
+        /**
+         * Groups consecutive pages into segments no larger than a single mapping allows, then maps each one.
+         */
+        void mapSegments(FileChannel channel, Path file) throws IOException {
+            int pageCount = segmentOf.length;
+            long[] starts = new long[Math.max(1, pageCount)];
+            int segmentCount = 0;
+            for (int i = 0; i < pageCount; i++) {
+                if (offsets[i + 1] - offsets[i] > Integer.MAX_VALUE) {
+                    throw new IOException(file + " has page " + i + " too large to map");
+                }
+                if (segmentCount == 0 || offsets[i + 1] - starts[segmentCount - 1] > Integer.MAX_VALUE) {
+                    starts[segmentCount++] = offsets[i];
+                }
+                segmentOf[i] = segmentCount - 1;
+            }
+
+            ByteBuffer[] mapped = new ByteBuffer[segmentCount];
+            for (int s = 0; s < segmentCount; s++) {
+                long end = s + 1 < segmentCount ? starts[s + 1] : offsets[pageCount];
+                MappedByteBuffer segment = channel.map(FileChannel.MapMode.READ_ONLY, starts[s], end - starts[s]);
+                mapped[s] = segment;
+            }
+            this.segments = mapped;
+            this.segmentStarts = starts;
+        }
+
+        @Override
+        public Page get(int index) {
+            if (index < 0 || index >= segmentOf.length) {
+                throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + segmentOf.length);
+            }
+            int segment = segmentOf[index];
+            ByteBuffer content = segments[segment].duplicate();
+            content.position((int) (offsets[index] - segmentStarts[segment]));
+            byte[] bytes = new byte[(int) (offsets[index + 1] - offsets[index])];
+            content.get(bytes);
+            return new Page(new String(bytes, StandardCharsets.UTF_8));
+        }
+
+        @Override
+        public int size() {
+            return segmentOf.length;
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package org.adoptopenjdk.lambda.tutorial.exercise4;
+
+/*
+ * #%L
+ * lambda-tutorial
+ * %%
+ * Copyright (C) 2013 Adopt OpenJDK
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 2 of the 
+ * License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public 
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/gpl-2.0.html>.
+ * #L%
+ */
+
+import org.adoptopenjdk.lambda.tutorial.exercise4.Document.Page;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+/**
+ * Translates a document, adds a footer to each page, and prints it, streaming pages through the three stages rather
+ * than building a whole intermediate Document after each one.
+ *
+ * The output is the same as printing <code>Documents.translate(document, translator).copyWithFooter()</code>. Pages
+ * are translated concurrently on the given Executor, but no more than <code>window</code> of them are in flight at
+ * once: a page is only submitted for translation once an earlier page has been translated and taken for printing.
+ * Pages are printed in order as soon as they are translated, so printing starts before the last page is translated,
+ * and memory held by the pipeline is bounded by the window rather than by the size of the document. A document read
+ * from a {@link DocumentFile} is likewise only decoded a window of pages at a time.
+ *
+ * The translator must be safe to use from multiple threads.
+ *
+ * @see DocumentTranslation#translate(Document, Translator, Executor)
+ */
+public final class DocumentPipeline {
+
+    private final Translator translator;
+    private final PagePrinter printer;
+    private final Executor executor;
+    private final int window;
+
+    /**
+     * @param translator - translator to apply to the title and each page
+     * @param printer - printer to print the translated pages with
+     * @param executor - executor to run translations
+     * @param window - the most pages to have in flight at once
+     */
+    public DocumentPipeline(Translator translator, PagePrinter printer, Executor executor, int window) {
+        if (window <= 0) {
+            throw new IllegalArgumentException("Window must be positive: " + window);
+        }
+        this.translator = Objects.requireNonNull(translator, "translator");
+        this.printer = Objects.requireNonNull(printer, "printer");
+        this.executor = Objects.requireNonNull(executor, "executor");
+        this.window = window;
+    }
+
+    /**
+     * Run the given <code>document</code> through the pipeline, printing to the given <code>sink</code>. The sink is
+     * neither flushed nor closed.
+     *
+     * Any exception thrown by the translator is rethrown, and translations still in flight are cancelled where they
+     * have not yet started.
+     *
+     * @param document - document to translate, add footers to, and print
+     * @param sink - destination to print to
+     * @throws IOException if writing to the sink fails
+     */
+    public void run(Document document, Writer sink) throws IOException {
+        List<Page> pages = document.getPages();
+        CompletableFuture<String> title =
+                CompletableFuture.supplyAsync(() -> translator.translate(document.getTitle()), executor);
+        Deque<CompletableFuture<String>> inFlight = new ArrayDeque<>(Math.min(window, pages.size()));
+        int next = 0;
+        try {
+            while (next < pages.size() && inFlight.size() < window) {
+                inFlight.add(translate(pages.get(next++)));
+            }
+
+            String translatedTitle = DocumentTranslation.await(title);
+            String footer = Document.footerFor(translatedTitle);
+            printer.printTitleTo(translatedTitle, sink);
+
+            while (!inFlight.isEmpty()) {
+                String translated = DocumentTranslation.await(inFlight.remove());
+                if (next < pages.size()) {
+                    inFlight.add(translate(pages.get(next++)));
+                }
+                printer.printPageTo(new Page(translated).append(footer), sink);
+            }
+        } finally {
+            title.cancel(false);
+            inFlight.forEach(pending -> pending.cancel(false));
+        }
+    }
+
+    private CompletableFuture<String> translate(Page page) {
+        return CompletableFuture.supplyAsync(() -> translator.translate(page.getContent()), executor);
+    }
+}
@@ -0,0 +1,89 @@
+package org.adoptopenjdk.lambda.tutorial.exercise4;
+
+/*
+ * #%L
+ * lambda-tutorial
+ * %%
+ * Copyright (C) 2013 Adopt OpenJDK
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 2 of the 
+ * License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public 
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/gpl-2.0.html>.
+ * #L%
+ */
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.IntStream;
+
+/**
+ * Ways of taking the titles of many documents which avoid building, resizing or merging intermediate lists.
+ *
+ * @see Documents#titlesOf(Document...)
+ */
+public final class DocumentTitles {
+
+    private static final int PARALLEL_TITLES_THRESHOLD = 8 * 1024;
+
+    private DocumentTitles() {
+    }
+
+    /**
+     * Return the titles from an array of documents, as {@link Documents#titlesOf(Document...)} does, but filled in
+     * parallel for large arrays. Each title is written straight to its position in a presized array, so there is no
+     * resizing or merging of partial results.
+     *
+     * @param documents - documents to take the titles of
+     * @return a fixed-size list of the titles, in the same order as the documents
+     */
+    public static List<String> titlesOfInParallel(Document... documents) {
+        String[] titles = new String[documents.length];
+        if (documents.length < PARALLEL_TITLES_THRESHOLD) {
+            return Arrays.asList(titlesInto(titles, documents));
+        }
+        IntStream.range(0, documents.length).parallel().forEach(i -> titles[i] = documents[i].getTitle());
+        return Arrays.asList(titles);
+    }
+
+    /**
+     * Write the titles from an array of documents into the caller's <code>titles</code> array, each at the same
+     * position as its document.
+     *
+     * @param titles - array to write to, at least as long as <code>documents</code>
+     * @param documents - documents to take the titles of
+     * @return the given titles array
+     */
+    public static String[] titlesInto(String[] titles, Document... documents) {
+        if (titles.length < documents.length) {
+            throw new IllegalArgumentException(
+                    "Array of length " + titles.length + " cannot hold " + documents.length + " titles");
+        }
+        for (int i = 0; i < documents.length; i++) {
+            titles[i] = documents[i].getTitle();
+        }
+        return titles;
+    }
+
+    /**
+     * Pass the title of each document to the given <code>action</code>, in order, without collecting them.
+     *
+     * @param action - action to perform on each title
+     * @param documents - documents to take the titles of
+     */
+    public static void forEachTitle(Consumer<? super String> action, Document... documents) {
+        for (Document document : documents) {
+            action.accept(document.getTitle());
+        }
+    }
+}
@@ -0,0 +1,187 @@
+package org.adoptopenjdk.lambda.tutorial.exercise4;
+
+/*
+ * #%L
+ * lambda-tutorial
+ * %%
+ * Copyright (C) 2013 Adopt OpenJDK
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 2 of the 
+ * License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public 
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/gpl-2.0.html>.
+ * #L%
+ */
+
+import org.adoptopenjdk.lambda.tutorial.exercise4.Document.Page;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+import java.util.stream.Collector;
+
+/**
+ * Translates documents a batch of pages at a time, through {@link Translator#translateAll(List)}, and concurrently on
+ * an Executor.
+ *
+ * @see Documents#translate(Document, Translator)
+ */
+public final class DocumentTranslation {
+
+    private static final int MAX_BATCH_PAGES = 64;
+    private static final int MAX_BATCH_CHARACTERS = 64 * 1024;
+
+    private DocumentTranslation() {
+    }
+
+    /**
+     * Translate a document as {@link Documents#translate(Document, Translator)} does, but with the title and each
+     * batch of pages translated concurrently by tasks run on the given <code>executor</code>, such as a ForkJoinPool.
+     * The translated pages are reassembled in their original order.
+     *
+     * The translator must be safe to use from multiple threads. Any exception thrown by the translator is rethrown
+     * once all pages have been submitted, and batches which have not yet started are cancelled.
+     *
+     * @param document - document to translate
+     * @param translator - translator to apply to the title and each page
+     * @param executor - executor to run translations
+     * @return the translated document
+     */
+    public static Document translate(Document document, Translator translator, Executor executor) {
+        CompletableFuture<String> title =
+                CompletableFuture.supplyAsync(() -> translator.translate(document.getTitle()), executor);
+
+        List<CompletableFuture<List<String>>> pendingBatches = new ArrayList<>();
+        try {
+            Batcher batcher = new Batcher(batch -> pendingBatches.add(
+                    CompletableFuture.supplyAsync(() -> translateBatch(translator, batch), executor)));
+            for (Page page : document.getPages()) {
+                batcher.add(page.getContent());
+            }
+            batcher.flush();
+
+            List<Page> pages = new ArrayList<>(document.getPages().size());
+            for (CompletableFuture<List<String>> pendingBatch : pendingBatches) {
+                for (String translated : await(pendingBatch)) {
+                    pages.add(new Page(translated));
+                }
+            }
+            return Document.adopting(await(title), pages);
+        } finally {
+            title.cancel(false);
+            pendingBatches.forEach(pendingBatch -> pendingBatch.cancel(false));
+        }
+    }
+
+    /**
+     * A Collector which translates the content of consecutive pages a batch at a time, in order, as it is collected.
+     * Only the content of the pages in the current batch is held untranslated, so pages of a document read from a
+     * {@link DocumentFile} are decoded a batch at a time.
+     *
+     * @param translator - translator to apply to each batch
+     * @return collector of the translated content, in the same order
+     */
+    static Collector<String, ?, List<String>> translatingInBatches(Translator translator) {
+        return Collector.of(
+                () -> new BatchTranslation(translator),
+                (translation, content) -> translation.add(content),
+                (left, right) -> left.merge(right),
+                translation -> translation.finish());
+    }
+
+    /**
+     * Groups the content of consecutive pages into batches, each holding at most {@link #MAX_BATCH_PAGES} pages, and
+     * no more than {@link #MAX_BATCH_CHARACTERS} characters unless it holds a single larger page. Each batch is passed
+     * on as soon as it is full.
+     */
+    private static final class Batcher {
+        private final Consumer<List<String>> onBatch;
+        private List<String> batch = new ArrayList<>();
+        private long batchCharacters;
+
+        Batcher(Consumer<List<String>> onBatch) {
+            this.onBatch = onBatch;
+        }
+
+        void add(String content) {
+            if (!batch.isEmpty() && batchCharacters + content.length() > MAX_BATCH_CHARACTERS) {
+                flush();
+            }
+            batch.add(content);
+            batchCharacters += content.length();
+            if (batch.size() == MAX_BATCH_PAGES) {
+                flush();
+            }
+        }
+
+        void flush() {
+            if (!batch.isEmpty()) {
+                onBatch.accept(batch);
+                batch = new ArrayList<>();
+                batchCharacters = 0;
+            }
+        }
+    }
+
+    private static final class BatchTranslation {
+        private final List<String> translated = new ArrayList<>();
+        private final Batcher batcher;
+
+        BatchTranslation(Translator translator) {
+            this.batcher = new Batcher(batch -> translated.addAll(translateBatch(translator, batch)));
+        }
+
+        void add(String content) {
+            batcher.add(content);
+        }
+
+        BatchTranslation merge(BatchTranslation right) {
+            batcher.flush();
+            translated.addAll(right.finish());
+            return this;
+        }
+
+        List<String> finish() {
+            batcher.flush();
+            return translated;
+        }
+    }
+
+    private static List<String> translateBatch(Translator translator, List<String> batch) {
+        List<String> translated = translator.translateAll(batch);
+        if (translated.size() != batch.size()) {
+            throw new IllegalStateException(
+                    "Translator returned " + translated.size() + " translations for " + batch.size() + " inputs");
+        }
+        return translated;
+    }
+
+    /**
+     * Waits for the given future, rethrowing any unchecked exception it failed with as it was thrown.
+     */
+    static <T> T await(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            if (e.getCause() instanceof Error) {
+                throw (Error) e.getCause();
+            }
+            throw e;
+        }
+    }
+}
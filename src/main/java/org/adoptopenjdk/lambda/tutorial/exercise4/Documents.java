@@ -42,7 +42,7 @@ public class Documents {
     }
 
     public static Integer characterCount(Page page) {
-        return page.getContent().length();
+        return page.length();
     }
 
     public static List<Integer> pageCharacterCounts(Document document) {
@@ -65,7 +65,7 @@ public class Documents {
     public static Document translate(Document document, Translator translator) {
         return document.getPages().stream()
                 .map(page -> page.getContent())
-                .map(content -> translator.translate(content))
+                .collect(DocumentTranslation.translatingInBatches(translator)).stream()
                 .map(translated -> new Page(translated))
                 .collect(collectingAndThen(toList(),
                                            pages -> new Document(translator.translate(document.getTitle()), pages)));
@@ -24,25 +24,131 @@ package org.adoptopenjdk.lambda.tutorial.exercise4;
 
 import org.adoptopenjdk.lambda.tutorial.exercise4.Document.Page;
 
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+
 import static java.lang.String.format;
 
 public final class PagePrinter {
 
-    private final String pageBreak;
+    private static final int BUFFER_SIZE = 8 * 1024;
+
+    private final String pageEnd;
+    private final byte[] encodedPageEnd;
 
     public PagePrinter(String pageBreak) {
-        this.pageBreak = pageBreak;
+        this.pageEnd = format("%n%s%n", pageBreak);
+        this.encodedPageEnd = pageEnd.getBytes(StandardCharsets.UTF_8);
     }
 
     public String printTitlePage(Document document) {
-        return format(
-                "%s%n" +
-                "%s%n", document.getTitle(), pageBreak);
+        return document.getTitle() + pageEnd;
     }
 
     public String printPage(Page page) {
-        return format(
-                "%s%n" +
-                "%s%n", page.getContent(), pageBreak);
+        return page.appendTo(new StringBuilder(page.length() + pageEnd.length())).append(pageEnd).toString();
+    }
+
+    /**
+     * Print the document straight to the given <code>writer</code>, with the same output as
+     * {@link Documents#print(Document, PagePrinter)} but without building the output, or any page, as a String.
+     * The writer is neither flushed nor closed.
+     *
+     * @param document - document to print
+     * @param writer - destination to print to
+     * @throws IOException if writing fails
+     */
+    public void printTo(Document document, Writer writer) throws IOException {
+        printTitleTo(document.getTitle(), writer);
+        for (Page page : document.getPages()) {
+            printPageTo(page, writer);
+        }
+    }
+
+    void printTitleTo(String title, Writer writer) throws IOException {
+        writer.write(title);
+        writer.write(pageEnd);
+    }
+
+    void printPageTo(Page page, Writer writer) throws IOException {
+        page.appendTo(writer);
+        writer.write(pageEnd);
+    }
+
+    /**
+     * Print the document straight to the given <code>channel</code>, with the same output as
+     * {@link Documents#print(Document, PagePrinter)}, encoded as UTF-8.
+     *
+     * Content is encoded through a single fixed-size buffer, and the page break is encoded once, when this printer is
+     * created. The channel is not closed.
+     *
+     * @param document - document to print
+     * @param channel - destination to print to
+     * @throws IOException if writing fails
+     */
+    public void printTo(Document document, WritableByteChannel channel) throws IOException {
+        CharsetEncoder encoder = StandardCharsets.UTF_8.newEncoder()
+                .onMalformedInput(CodingErrorAction.REPLACE)
+                .onUnmappableCharacter(CodingErrorAction.REPLACE);
+        ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+
+        encode(document.getTitle(), encoder, buffer, channel);
+        endPage(buffer, channel);
+        for (Page page : document.getPages()) {
+            for (String segment : page.segments()) {
+                encode(segment, encoder, buffer, channel);
+            }
+            endPage(buffer, channel);
+        }
+        drain(buffer, channel);
+    }
+
+    private void endPage(ByteBuffer buffer, WritableByteChannel channel) throws IOException {
+        if (buffer.remaining() < encodedPageEnd.length) {
+            drain(buffer, channel);
+        }
+        if (buffer.remaining() < encodedPageEnd.length) {
+            write(ByteBuffer.wrap(encodedPageEnd), channel);
+        } else {
+            buffer.put(encodedPageEnd);
+        }
+    }
+
+    private static void encode(String content, CharsetEncoder encoder, ByteBuffer buffer, WritableByteChannel channel)
+            throws IOException {
+        CharBuffer chars = CharBuffer.wrap(content);
+        encoder.reset();
+        CoderResult result;
+        do {
+            result = encoder.encode(chars, buffer, true);
+            if (result.isOverflow()) {
+                drain(buffer, channel);
+            }
+        } while (result.isOverflow());
+        do {
+            result = encoder.flush(buffer);
+            if (result.isOverflow()) {
+                drain(buffer, channel);
+            }
+        } while (result.isOverflow());
+    }
+
+    private static void drain(ByteBuffer buffer, WritableByteChannel channel) throws IOException {
+        buffer.flip();
+        write(buffer, channel);
+        buffer.clear();
+    }
+
+    private static void write(ByteBuffer buffer, WritableByteChannel channel) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
     }
 }
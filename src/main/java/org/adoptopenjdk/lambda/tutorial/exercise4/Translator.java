@@ -22,16 +22,47 @@ package org.adoptopenjdk.lambda.tutorial.exercise4;
  * #L%
  */
 
+import java.util.ArrayList;
+import java.util.List;
+
 public interface Translator {
 
     String translate(String input);
 
+    /**
+     * Translate a batch of inputs at once, allowing implementations with a per-call overhead to pay it once per batch
+     * rather than once per input.
+     *
+     * The default implementation translates each input in turn.
+     *
+     * @param inputs - inputs to translate
+     * @return the translation of each input, in the same order
+     */
+    default List<String> translateAll(List<String> inputs) {
+        List<String> translated = new ArrayList<>(inputs.size());
+        for (String input : inputs) {
+            translated.add(translate(input));
+        }
+        return translated;
+    }
+
     enum Languages implements Translator {
         REVERSISH {
             @Override
             public String translate(String input) {
                 return new StringBuilder(input).reverse().toString();
             }
+
+            @Override
+            public List<String> translateAll(List<String> inputs) {
+                StringBuilder reversing = new StringBuilder();
+                List<String> translated = new ArrayList<>(inputs.size());
+                for (String input : inputs) {
+                    reversing.setLength(0);
+                    translated.add(reversing.append(input).reverse().toString());
+                }
+                return translated;
+            }
         }
 
         // TODO: implement other, real languages.
@@ -0,0 +1,58 @@
+package org.adoptopenjdk.lambda.tutorial.util;
+
+/*
+ * #%L
+ * lambda-tutorial
+ * %%
+ * Copyright (C) 2013 Adopt OpenJDK
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 2 of the 
+ * License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public 
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/gpl-2.0.html>.
+ * #L%
+ */
+
+/**
+ * Growth policy shared by the array-backed stores, which grow their arrays by half again when full.
+ *
+ * Capacities are computed as longs and clamped, so growing a large array never overflows <code>int</code> into a
+ * negative size.
+ */
+public final class ArrayCapacity {
+
+    /**
+     * The largest array some VMs will allocate, as they reserve a few header words in an array.
+     */
+    public static final int MAX_ARRAY_SIZE = Integer.MAX_VALUE - 8;
+
+    private static final int MIN_CAPACITY = 16;
+
+    private ArrayCapacity() {
+    }
+
+    /**
+     * @param current - current capacity
+     * @param minimum - the capacity needed
+     * @param maximum - the largest capacity allowed
+     * @return a new capacity, half as large again as <code>current</code>, of at least <code>minimum</code> and at
+     *         most <code>maximum</code>
+     * @throws IllegalStateException if <code>minimum</code> is greater than <code>maximum</code>
+     */
+    public static int grow(int current, long minimum, int maximum) {
+        if (minimum > maximum) {
+            throw new IllegalStateException("Cannot grow beyond " + maximum);
+        }
+        long capacity = Math.max(MIN_CAPACITY, current + ((long) current >> 1));
+        return (int) Math.min(maximum, Math.max(minimum, capacity));
+    }
+}
@@ -0,0 +1,61 @@
+package org.adoptopenjdk.lambda.tutorial.util;
+
+/*
+ * #%L
+ * lambda-tutorial
+ * %%
+ * Copyright (C) 2013 Adopt OpenJDK
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 2 of the 
+ * License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public 
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/gpl-2.0.html>.
+ * #L%
+ */
+
+import java.lang.ref.WeakReference;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * A pool of canonical instances of an immutable value type, in the manner of {@link String#intern()}.
+ *
+ * Interning equal values yields the same instance, so large collections can hold a single copy of each distinct
+ * value, and compare them by identity before falling back to equals. Canonical instances are only weakly held, so
+ * values which are no longer referenced elsewhere can still be garbage collected.
+ */
+public final class WeakInterner<T> {
+
+    private final Map<T, WeakReference<T>> pool = new WeakHashMap<>();
+
+    /**
+     * @param candidate - value to intern
+     * @return the canonical instance equal to <code>candidate</code>, which is <code>candidate</code> itself if no
+     *         equal value is already in the pool
+     */
+    public synchronized T intern(T candidate) {
+        WeakReference<T> reference = pool.get(candidate);
+        T canonical = reference == null ? null : reference.get();
+        if (canonical == null) {
+            pool.put(candidate, new WeakReference<>(candidate));
+            canonical = candidate;
+        }
+        return canonical;
+    }
+
+    /**
+     * @return the number of canonical instances currently in the pool
+     */
+    public synchronized int size() {
+        return pool.size();
+    }
+}
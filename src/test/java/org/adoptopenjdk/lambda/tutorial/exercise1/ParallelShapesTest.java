@@ -0,0 +1,110 @@
+package org.adoptopenjdk.lambda.tutorial.exercise1;
+
+/*
+ * #%L
+ * lambda-tutorial
+ * %%
+ * Copyright (C) 2013 Adopt OpenJDK
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 2 of the 
+ * License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public 
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/gpl-2.0.html>.
+ * #L%
+ */
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Random;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.everyItem;
+import static org.hamcrest.Matchers.isEmptyString;
+
+public class ParallelShapesTest {
+
+    private static final Color[] COLORS = Color.values();
+
+    @Test
+    public void recolorsEveryShapeAndDescribesOldColorsInOrderAcrossManyPartitions() {
+        List<Shape> shapes = randomShapes(100 * 1000);
+        String expected = describe(shapes);
+        StringBuilder builder = new StringBuilder();
+
+        ParallelShapes.changeColorAndMakeStringOfOldColors(shapes, Color.RED, builder);
+
+        assertThat(builder.toString(), equalTo(expected));
+        assertThat(colorsOf(shapes), everyItem(equalTo(Color.RED)));
+    }
+
+    @Test
+    public void appendsToExistingContentOfStringBuilder() {
+        List<Shape> shapes = randomShapes(20 * 1000);
+        String expected = "existing" + describe(shapes);
+        StringBuilder builder = new StringBuilder("existing");
+
+        ParallelShapes.changeColorAndMakeStringOfOldColors(shapes, Color.BLUE, builder);
+
+        assertThat(builder.toString(), equalTo(expected));
+    }
+
+    @Test
+    public void partitionsListsWithoutRandomAccessByCopying() {
+        List<Shape> shapes = new LinkedList<>(randomShapes(40 * 1000));
+        String expected = describe(shapes);
+        StringBuilder builder = new StringBuilder();
+
+        ParallelShapes.changeColorAndMakeStringOfOldColors(shapes, Color.GREEN, builder);
+
+        assertThat(builder.toString(), equalTo(expected));
+        assertThat(colorsOf(shapes), everyItem(equalTo(Color.GREEN)));
+    }
+
+    @Test
+    public void handlesEmptyList() {
+        StringBuilder builder = new StringBuilder();
+
+        ParallelShapes.changeColorAndMakeStringOfOldColors(Collections.<Shape>emptyList(), Color.RED, builder);
+
+        assertThat(builder.toString(), isEmptyString());
+    }
+
+    private static List<Shape> randomShapes(int count) {
+        Random random = new Random(count);
+        List<Shape> shapes = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            shapes.add(new Shape(COLORS[random.nextInt(COLORS.length)]));
+        }
+        return shapes;
+    }
+
+    private static String describe(List<Shape> shapes) {
+        StringBuilder builder = new StringBuilder();
+        for (Shape shape : shapes) {
+            builder.append(shape);
+        }
+        return builder.toString();
+    }
+
+    private static List<Color> colorsOf(List<Shape> shapes) {
+        List<Color> colors = new ArrayList<>(shapes.size());
+        for (Shape shape : shapes) {
+            colors.add(shape.getColor());
+        }
+        return colors;
+    }
+}
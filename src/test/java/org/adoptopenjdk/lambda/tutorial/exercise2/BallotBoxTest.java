@@ -0,0 +1,199 @@
+package org.adoptopenjdk.lambda.tutorial.exercise2;
+
+/*
+ * #%L
+ * lambda-tutorial
+ * %%
+ * Copyright (C) 2013 Adopt OpenJDK
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 2 of the 
+ * License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public 
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/gpl-2.0.html>.
+ * #L%
+ */
+
+import org.junit.After;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.adoptopenjdk.lambda.tutorial.exercise2.Party.CONSERVATIVE;
+import static org.adoptopenjdk.lambda.tutorial.exercise2.Party.LABOUR;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.equalTo;
+
+public class BallotBoxTest {
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(4);
+
+    @After
+    public void shutDownExecutor() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void notifiesNewSubscriberOfCurrentBallotsThenOfEachChange() {
+        Ballot first = Ballot.voteFor(LABOUR);
+        Ballot second = Ballot.voteFor(CONSERVATIVE);
+        BallotBox box = new BallotBox();
+        box.add(first);
+        List<String> changes = new ArrayList<>();
+
+        box.subscribe((added, removed) -> changes.add(added.size() + "+" + removed.size() + "-"));
+        box.add(second);
+        box.remove(first);
+        box.remove(first);
+
+        assertThat(changes, contains("1+0-", "1+0-", "0+1-"));
+    }
+
+    @Test
+    public void stopsNotifyingUnsubscribedListener() {
+        BallotBox box = new BallotBox();
+        Mirror mirror = new Mirror();
+        box.subscribe(mirror);
+        box.add(Ballot.voteFor(LABOUR));
+
+        box.unsubscribe(mirror);
+        box.add(Ballot.voteFor(LABOUR));
+
+        assertThat(mirror.ballots.size(), equalTo(1));
+    }
+
+    @Test
+    public void deliversChangeMadeByListenerOnlyAfterEveryListenerHasSeenTheChangeBeforeIt() {
+        Ballot first = Ballot.voteFor(LABOUR);
+        Ballot second = Ballot.voteFor(CONSERVATIVE);
+        BallotBox box = new BallotBox();
+        box.subscribe((added, removed) -> {
+            if (added.contains(first)) {
+                box.add(second);
+            }
+        });
+        List<Set<Ballot>> seenByLaterListener = new ArrayList<>();
+        box.subscribe((added, removed) -> seenByLaterListener.add(added));
+
+        box.add(first);
+
+        assertThat(seenByLaterListener,
+                   equalTo(Arrays.asList(Collections.singleton(first), Collections.singleton(second))));
+    }
+
+    @Test(timeout = 10 * 1000)
+    public void listenerMayChangeTheBoxFromItsOwnThreadOrAnotherWithoutDeadlock() throws Exception {
+        BallotBox box = new BallotBox();
+        Ballot spoiled = Ballot.spoiled();
+        Ballot fromAnotherThread = Ballot.voteFor(LABOUR);
+        box.subscribe((added, removed) -> {
+            if (added.contains(spoiled)) {
+                box.remove(spoiled);
+                await(executor.submit(() -> box.add(fromAnotherThread)));
+            }
+        });
+
+        box.addAll(Arrays.asList(spoiled, Ballot.voteFor(CONSERVATIVE)));
+
+        assertThat(box.snapshot().contains(spoiled), equalTo(false));
+        assertThat(box.snapshot().contains(fromAnotherThread), equalTo(true));
+    }
+
+    @Test
+    public void deliversChangesInOrderMadeWhenBallotsChangeConcurrently() throws Exception {
+        BallotBox box = new BallotBox();
+        Mirror mirror = new Mirror();
+        box.subscribe(mirror);
+
+        List<Future<?>> changers = new ArrayList<>();
+        for (int thread = 0; thread < 4; thread++) {
+            changers.add(executor.submit(() -> changeRepeatedly(box, ballots(20), 20 * 1000)));
+        }
+        for (Future<?> changer : changers) {
+            changer.get();
+        }
+
+        assertThat(mirror.outOfOrder, empty());
+        assertThat(mirror.ballots, equalTo(box.snapshot()));
+    }
+
+    /**
+     * Adds and removes ballots from the given pool in turn, singly and in batches, so that every ballot is alternately
+     * added and removed.
+     */
+    static void changeRepeatedly(BallotBox box, List<Ballot> pool, int changes) {
+        for (int i = 0; i < changes; i++) {
+            int batchSize = 1 + i % 3;
+            List<Ballot> batch = new ArrayList<>(batchSize);
+            for (int j = 0; j < batchSize; j++) {
+                batch.add(pool.get((i * 7 + j) % pool.size()));
+            }
+            if (i % 2 == 0) {
+                box.addAll(batch);
+            } else {
+                box.removeAll(batch);
+            }
+        }
+    }
+
+    /**
+     * @return distinct ballots, a quarter of them spoiled
+     */
+    static List<Ballot> ballots(int count) {
+        List<Ballot> ballots = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            ballots.add(i % 4 == 0 ? Ballot.spoiled() : Ballot.voteFor(Party.values()[i % Party.values().length]));
+        }
+        return ballots;
+    }
+
+    private static void await(Future<?> future) {
+        try {
+            future.get(5, TimeUnit.SECONDS);
+        } catch (Exception e) {
+            throw new AssertionError(e);
+        }
+    }
+
+    /**
+     * Replays the changes it is notified of, recording any which could only have been delivered out of order: adding
+     * a ballot it already holds, or removing one it does not.
+     */
+    static final class Mirror implements BallotBox.Listener {
+        final Set<Ballot> ballots = Collections.synchronizedSet(new HashSet<>());
+        final List<String> outOfOrder = Collections.synchronizedList(new ArrayList<>());
+
+        @Override
+        public void ballotsChanged(Set<Ballot> added, Set<Ballot> removed) {
+            for (Ballot ballot : added) {
+                if (!ballots.add(ballot)) {
+                    outOfOrder.add("added twice: " + ballot);
+                }
+            }
+            for (Ballot ballot : removed) {
+                if (!ballots.remove(ballot)) {
+                    outOfOrder.add("removed while absent: " + ballot);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package org.adoptopenjdk.lambda.tutorial.exercise2;
+
+/*
+ * #%L
+ * lambda-tutorial
+ * %%
+ * Copyright (C) 2013 Adopt OpenJDK
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 2 of the 
+ * License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public 
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/gpl-2.0.html>.
+ * #L%
+ */
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.adoptopenjdk.lambda.tutorial.exercise2.Party.CONSERVATIVE;
+import static org.adoptopenjdk.lambda.tutorial.exercise2.Party.GREEN_PARTY;
+import static org.adoptopenjdk.lambda.tutorial.exercise2.Party.LABOUR;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+
+public class BallotCounterTest {
+
+    @Test
+    public void countsSingleBallotsAndBatches() {
+        BallotCounter counter = new BallotCounter();
+
+        counter.record(Ballot.voteFor(LABOUR));
+        counter.record(Ballot.spoiled());
+        counter.recordAll(Arrays.asList(Ballot.voteFor(LABOUR), Ballot.voteFor(CONSERVATIVE), Ballot.spoiled()));
+
+        BallotCounter.Tally tally = counter.snapshot();
+        assertThat(tally.votesFor(LABOUR), equalTo(2L));
+        assertThat(tally.votesFor(CONSERVATIVE), equalTo(1L));
+        assertThat(tally.votesFor(GREEN_PARTY), equalTo(0L));
+        assertThat(tally.spoiled(), equalTo(2L));
+        assertThat(tally.unspoiled(), equalTo(3L));
+        assertThat(tally.total(), equalTo(5L));
+    }
+
+    @Test
+    public void countsBallotStreamWithoutDecodingBallots() {
+        BallotCounter counter = new BallotCounter();
+
+        counter.recordAll(BallotStream.builder().addVoteFor(GREEN_PARTY).addSpoiled().addVoteFor(GREEN_PARTY).build());
+
+        BallotCounter.Tally tally = counter.snapshot();
+        assertThat(tally.votesFor(GREEN_PARTY), equalTo(2L));
+        assertThat(tally.spoiled(), equalTo(1L));
+    }
+
+    @Test
+    public void laterSnapshotsIncludeEverythingRecordedBefore() {
+        BallotCounter counter = new BallotCounter();
+        counter.record(Ballot.voteFor(LABOUR));
+        BallotCounter.Tally first = counter.snapshot();
+
+        counter.record(Ballot.voteFor(LABOUR));
+        BallotCounter.Tally second = counter.snapshot();
+        BallotCounter.Tally third = counter.snapshot();
+
+        assertThat(first.votesFor(LABOUR), equalTo(1L));
+        assertThat(second.votesFor(LABOUR), equalTo(2L));
+        assertThat(third.votesFor(LABOUR), equalTo(2L));
+    }
+
+    @Test
+    public void snapshotsTakenDuringConcurrentIngestionAreConsistentCuts() throws InterruptedException {
+        int threads = 4;
+        int batchesPerThread = 100 * 1000;
+        List<Ballot> batch = Arrays.asList(Ballot.voteFor(CONSERVATIVE), Ballot.voteFor(LABOUR), Ballot.spoiled());
+        BallotCounter counter = new BallotCounter();
+        AtomicLong completedBatches = new AtomicLong();
+        CountDownLatch finished = new CountDownLatch(threads);
+        List<Thread> ingesters = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            Thread ingester = new Thread(() -> {
+                for (int i = 0; i < batchesPerThread; i++) {
+                    if (i % 2 == 0) {
+                        counter.recordAll(batch);
+                    } else {
+                        counter.recordAll(BallotStream.of(batch));
+                    }
+                    completedBatches.incrementAndGet();
+                }
+                finished.countDown();
+            });
+            ingesters.add(ingester);
+            ingester.start();
+        }
+
+        long previous = 0;
+        int snapshots = 0;
+        while (finished.getCount() > 0 || snapshots == 0) {
+            long completedBefore = completedBatches.get();
+            BallotCounter.Tally tally = counter.snapshot();
+            long conservative = tally.votesFor(CONSERVATIVE);
+
+            assertThat(tally.votesFor(LABOUR), equalTo(conservative));
+            assertThat(tally.spoiled(), equalTo(conservative));
+            assertThat(conservative, greaterThanOrEqualTo(completedBefore));
+            assertThat(conservative, greaterThanOrEqualTo(previous));
+            previous = conservative;
+            snapshots++;
+        }
+        for (Thread ingester : ingesters) {
+            ingester.join();
+        }
+
+        BallotCounter.Tally tally = counter.snapshot();
+        assertThat(tally.votesFor(CONSERVATIVE), equalTo((long) threads * batchesPerThread));
+        assertThat(tally.total(), equalTo(3L * threads * batchesPerThread));
+    }
+}
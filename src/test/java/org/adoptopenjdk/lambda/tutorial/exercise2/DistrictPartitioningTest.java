@@ -0,0 +1,91 @@
+package org.adoptopenjdk.lambda.tutorial.exercise2;
+
+/*
+ * #%L
+ * lambda-tutorial
+ * %%
+ * Copyright (C) 2013 Adopt OpenJDK
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 2 of the 
+ * License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public 
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/gpl-2.0.html>.
+ * #L%
+ */
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.equalTo;
+
+public class DistrictPartitioningTest {
+
+    @Test
+    public void routesElectorIdToDistrictByPrefix() {
+        assertThat(DistrictPartitioning.districtOf("CR1234"), equalTo(Optional.of(ElectoralDistrict.CROYDON)));
+        assertThat(DistrictPartitioning.districtOf("HA"), equalTo(Optional.of(ElectoralDistrict.HACKNEY)));
+    }
+
+    @Test
+    public void routesNoDistrictForUnknownOrShortPrefix() {
+        assertThat(DistrictPartitioning.districtOf("ZZ1234"), equalTo(Optional.empty()));
+        assertThat(DistrictPartitioning.districtOf("C"), equalTo(Optional.empty()));
+        assertThat(DistrictPartitioning.districtOf(""), equalTo(Optional.empty()));
+        assertThat(DistrictPartitioning.districtOf("Cé"), equalTo(Optional.empty()));
+    }
+
+    @Test
+    public void partitionsVotersIntoEveryDistrictDroppingUnmatchedVoters() {
+        List<RegisteredVoter> voters = Arrays.asList(
+                new RegisteredVoter("CR111"), new RegisteredVoter("ED222"), new RegisteredVoter("CR333"),
+                new RegisteredVoter("XX444"));
+
+        EnumMap<ElectoralDistrict, Set<RegisteredVoter>> byDistrict = DistrictPartitioning.votersByDistrict(voters);
+
+        assertThat(byDistrict.keySet(), containsInAnyOrder(ElectoralDistrict.values()));
+        assertThat(byDistrict.get(ElectoralDistrict.CROYDON),
+                   containsInAnyOrder(new RegisteredVoter("CR111"), new RegisteredVoter("CR333")));
+        assertThat(byDistrict.get(ElectoralDistrict.EDMONTON), containsInAnyOrder(new RegisteredVoter("ED222")));
+        assertThat(byDistrict.get(ElectoralDistrict.BARKING), empty());
+    }
+
+    @Test
+    public void parallelPartitionMatchesFilteringByPrefix() {
+        List<RegisteredVoter> voters = new ArrayList<>();
+        String[] prefixes = { "CR", "BA", "HA", "ED", "NO" };
+        for (int i = 0; i < 100 * 1000; i++) {
+            voters.add(new RegisteredVoter(prefixes[i % prefixes.length] + i));
+        }
+
+        EnumMap<ElectoralDistrict, Set<RegisteredVoter>> byDistrict = DistrictPartitioning.votersByDistrict(voters);
+
+        for (ElectoralDistrict district : ElectoralDistrict.values()) {
+            Set<RegisteredVoter> expected = new HashSet<>();
+            for (RegisteredVoter voter : voters) {
+                if (voter.getElectorId().startsWith(district.getPrefix())) {
+                    expected.add(voter);
+                }
+            }
+            assertThat(byDistrict.get(district), equalTo(expected));
+        }
+    }
+}
@@ -0,0 +1,174 @@
+package org.adoptopenjdk.lambda.tutorial.exercise2;
+
+/*
+ * #%L
+ * lambda-tutorial
+ * %%
+ * Copyright (C) 2013 Adopt OpenJDK
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 2 of the 
+ * License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public 
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/gpl-2.0.html>.
+ * #L%
+ */
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Spliterator;
+
+import static java.util.stream.Collectors.toList;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.notNullValue;
+
+public class MappedVoterRollTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void writesSpacePaddedRecordsEachTerminatedByALineBreak() throws IOException {
+        Path file = folder.newFile().toPath();
+
+        MappedVoterRoll.write(file, 8, Arrays.asList(new RegisteredVoter("ABC"), new RegisteredVoter("1234567")));
+
+        assertThat(new String(Files.readAllBytes(file), StandardCharsets.US_ASCII), equalTo("ABC    \n1234567\n"));
+    }
+
+    @Test
+    public void readsBackTheVotersWhichWereWritten() throws IOException {
+        Path file = folder.newFile().toPath();
+        List<RegisteredVoter> voters = voters(5000);
+        MappedVoterRoll.write(file, 12, voters);
+
+        MappedVoterRoll roll = MappedVoterRoll.map(file, 12);
+
+        assertThat(roll.size(), equalTo(5000L));
+        assertThat(roll.stream().collect(toList()), equalTo(voters));
+    }
+
+    @Test
+    public void readsRecordsWithoutALineBreak() throws IOException {
+        Path file = folder.newFile().toPath();
+        Files.write(file, "A1  B22 C333".getBytes(StandardCharsets.US_ASCII));
+
+        MappedVoterRoll roll = MappedVoterRoll.map(file, 4);
+
+        assertThat(roll.stream().collect(toList()),
+                   contains(new RegisteredVoter("A1"), new RegisteredVoter("B22"), new RegisteredVoter("C333")));
+    }
+
+    @Test
+    public void parallelStreamReadsEveryVoterOnceInOrder() throws IOException {
+        Path file = folder.newFile().toPath();
+        List<RegisteredVoter> voters = voters(100 * 1000);
+        MappedVoterRoll.write(file, 10, voters);
+
+        MappedVoterRoll roll = MappedVoterRoll.map(file, 10);
+
+        assertThat(roll.parallelStream().collect(toList()), equalTo(voters));
+    }
+
+    @Test
+    public void partitionsParallelStreamByDistrictAsCollectionOfSameVoters() throws IOException {
+        Path file = folder.newFile().toPath();
+        List<RegisteredVoter> voters = new ArrayList<>();
+        for (int i = 0; i < 10 * 1000; i++) {
+            voters.add(new RegisteredVoter(ElectoralDistrict.values()[i % 4].getPrefix() + i));
+        }
+        MappedVoterRoll.write(file, 10, voters);
+
+        MappedVoterRoll roll = MappedVoterRoll.map(file, 10);
+
+        assertThat(DistrictPartitioning.votersByDistrict(roll.parallelStream()),
+                   equalTo(DistrictPartitioning.votersByDistrict(voters)));
+    }
+
+    @Test
+    public void splitsOnRecordBoundariesIntoDisjointRanges() throws IOException {
+        Path file = folder.newFile().toPath();
+        List<RegisteredVoter> voters = voters(4099);
+        MappedVoterRoll.write(file, 10, voters);
+        Spliterator<RegisteredVoter> suffix = MappedVoterRoll.map(file, 10).spliterator();
+
+        Spliterator<RegisteredVoter> prefix = suffix.trySplit();
+
+        assertThat(prefix, is(notNullValue()));
+        assertThat(prefix.estimateSize() + suffix.estimateSize(), equalTo(4099L));
+        List<RegisteredVoter> read = new ArrayList<>();
+        prefix.forEachRemaining(read::add);
+        suffix.forEachRemaining(read::add);
+        assertThat(read, equalTo(voters));
+    }
+
+    @Test
+    public void doesNotSplitSmallRanges() throws IOException {
+        Path file = folder.newFile().toPath();
+        MappedVoterRoll.write(file, 10, voters(100));
+
+        Spliterator<RegisteredVoter> spliterator = MappedVoterRoll.map(file, 10).spliterator();
+
+        assertThat(spliterator.trySplit() == null, is(true));
+        assertThat(spliterator.hasCharacteristics(Spliterator.SIZED | Spliterator.SUBSIZED | Spliterator.ORDERED),
+                   is(true));
+    }
+
+    @Test
+    public void readsAnEmptyFile() throws IOException {
+        Path file = folder.newFile().toPath();
+        MappedVoterRoll.write(file, 10, Collections.<RegisteredVoter>emptyList());
+
+        MappedVoterRoll roll = MappedVoterRoll.map(file, 10);
+
+        assertThat(roll.size(), equalTo(0L));
+        assertThat(roll.stream().count(), equalTo(0L));
+    }
+
+    @Test(expected = IOException.class)
+    public void rejectsFileWhichIsNotAWholeNumberOfRecords() throws IOException {
+        Path file = folder.newFile().toPath();
+        Files.write(file, "A1  B2".getBytes(StandardCharsets.US_ASCII));
+
+        MappedVoterRoll.map(file, 4);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsElectorIdWhichDoesNotFitInARecord() throws IOException {
+        MappedVoterRoll.write(folder.newFile().toPath(), 4, Collections.singletonList(new RegisteredVoter("ABCD")));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsNonPositiveRecordWidth() throws IOException {
+        MappedVoterRoll.map(folder.newFile().toPath(), 0);
+    }
+
+    private static List<RegisteredVoter> voters(int count) {
+        List<RegisteredVoter> voters = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            voters.add(new RegisteredVoter("V" + i));
+        }
+        return voters;
+    }
+}
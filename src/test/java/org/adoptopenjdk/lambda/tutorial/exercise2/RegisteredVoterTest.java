@@ -0,0 +1,53 @@
+package org.adoptopenjdk.lambda.tutorial.exercise2;
+
+/*
+ * #%L
+ * lambda-tutorial
+ * %%
+ * Copyright (C) 2013 Adopt OpenJDK
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 2 of the 
+ * License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public 
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/gpl-2.0.html>.
+ * #L%
+ */
+
+import org.junit.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.sameInstance;
+
+public class RegisteredVoterTest {
+
+    @Test
+    public void equalVotersHaveEqualHashCodes() {
+        assertThat(new RegisteredVoter("CR1"), equalTo(new RegisteredVoter("CR1")));
+        assertThat(new RegisteredVoter("CR1").hashCode(), equalTo(new RegisteredVoter("CR1").hashCode()));
+        assertThat(new RegisteredVoter("CR1"), not(equalTo(new RegisteredVoter("CR2"))));
+    }
+
+    @Test
+    public void canBeCreatedWithoutElectorIdAsBefore() {
+        assertThat(new RegisteredVoter(null).getElectorId(), nullValue());
+    }
+
+    @Test
+    public void interningGivesOneInstancePerElectorId() {
+        RegisteredVoter canonical = new RegisteredVoter("ED42").intern();
+
+        assertThat(new RegisteredVoter("ED42").intern(), sameInstance(canonical));
+    }
+}
@@ -0,0 +1,124 @@
+package org.adoptopenjdk.lambda.tutorial.exercise2;
+
+/*
+ * #%L
+ * lambda-tutorial
+ * %%
+ * Copyright (C) 2013 Adopt OpenJDK
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 2 of the 
+ * License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public 
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/gpl-2.0.html>.
+ * #L%
+ */
+
+import org.adoptopenjdk.lambda.tutorial.exercise2.BallotBoxTest.Mirror;
+import org.junit.After;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.adoptopenjdk.lambda.tutorial.exercise2.BallotBoxTest.ballots;
+import static org.adoptopenjdk.lambda.tutorial.exercise2.BallotBoxTest.changeRepeatedly;
+import static org.adoptopenjdk.lambda.tutorial.exercise2.Party.CONSERVATIVE;
+import static org.adoptopenjdk.lambda.tutorial.exercise2.Party.LABOUR;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.equalTo;
+
+public class UnspoiledBallotViewTest {
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(4);
+
+    @After
+    public void shutDownExecutor() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void includesUnspoiledBallotsAlreadyInTheBox() {
+        Ballot labour = Ballot.voteFor(LABOUR);
+        BallotBox box = new BallotBox();
+        box.addAll(Arrays.asList(labour, Ballot.spoiled()));
+
+        UnspoiledBallotView view = UnspoiledBallotView.of(box);
+
+        assertThat(view.ballots(), containsInAnyOrder(labour));
+    }
+
+    @Test
+    public void followsBallotsAddedAndRemovedLater() {
+        Ballot labour = Ballot.voteFor(LABOUR);
+        Ballot conservative = Ballot.voteFor(CONSERVATIVE);
+        BallotBox box = new BallotBox();
+        UnspoiledBallotView view = UnspoiledBallotView.of(box);
+
+        box.addAll(Arrays.asList(labour, conservative, Ballot.spoiled()));
+        box.remove(labour);
+
+        assertThat(view.ballots(), containsInAnyOrder(conservative));
+        assertThat(view.size(), equalTo(1));
+    }
+
+    @Test
+    public void stopsFollowingTheBoxOnceClosed() {
+        Ballot labour = Ballot.voteFor(LABOUR);
+        BallotBox box = new BallotBox();
+        UnspoiledBallotView view = UnspoiledBallotView.of(box);
+        Mirror mirror = new Mirror();
+        view.subscribe(mirror);
+        box.add(labour);
+
+        view.close();
+        box.remove(labour);
+        box.add(Ballot.voteFor(CONSERVATIVE));
+
+        assertThat(view.ballots(), containsInAnyOrder(labour));
+        assertThat(mirror.ballots, containsInAnyOrder(labour));
+    }
+
+    @Test
+    public void matchesUnspoiledBallotsInTheBoxAfterConcurrentChanges() throws Exception {
+        BallotBox box = new BallotBox();
+        box.addAll(ballots(8));
+        UnspoiledBallotView view = UnspoiledBallotView.of(box);
+        Mirror mirror = new Mirror();
+        view.subscribe(mirror);
+
+        List<Future<?>> changers = new ArrayList<>();
+        for (int thread = 0; thread < 4; thread++) {
+            changers.add(executor.submit(() -> changeRepeatedly(box, ballots(20), 20 * 1000)));
+        }
+        for (Future<?> changer : changers) {
+            changer.get();
+        }
+
+        Set<Ballot> expected = new HashSet<>();
+        for (Ballot ballot : box.snapshot()) {
+            if (!ballot.isSpoiled()) {
+                expected.add(ballot);
+            }
+        }
+        assertThat(view.ballots(), equalTo(expected));
+        assertThat(mirror.outOfOrder, empty());
+        assertThat(mirror.ballots, equalTo(expected));
+    }
+}
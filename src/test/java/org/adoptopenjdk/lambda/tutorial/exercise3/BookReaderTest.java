@@ -0,0 +1,202 @@
+package org.adoptopenjdk.lambda.tutorial.exercise3;
+
+/*
+ * #%L
+ * lambda-tutorial
+ * %%
+ * Copyright (C) 2013 Adopt OpenJDK
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 2 of the 
+ * License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public 
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/gpl-2.0.html>.
+ * #L%
+ */
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static java.util.stream.Collectors.toList;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.Assert.fail;
+
+public class BookReaderTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void readsOneBookPerLineSkippingEmptyLines() {
+        List<Book> books = read("Dune,Frank,Herbert,Chilton\n\nEmma,Jane,Austen,John Murray\n", ',');
+
+        assertThat(books, contains(
+                new Book("Dune", new Author("Frank", "Herbert"), new Publisher("Chilton")),
+                new Book("Emma", new Author("Jane", "Austen"), new Publisher("John Murray"))));
+    }
+
+    @Test
+    public void stripsCarriageReturnsFromLinesEndedWithCrLf() {
+        List<Book> books = read("Dune\tFrank\tHerbert\tChilton\r\nEmma\tJane\tAusten\tJohn Murray\r\n", '\t');
+
+        assertThat(books.get(0).getPublisher(), equalTo(new Publisher("Chilton")));
+        assertThat(books.get(1).getPublisher(), equalTo(new Publisher("John Murray")));
+    }
+
+    @Test
+    public void readsLastLineWithoutALineBreak() {
+        List<Book> books = read("Dune,Frank,Herbert,Chilton", ',');
+
+        assertThat(books, contains(new Book("Dune", new Author("Frank", "Herbert"), new Publisher("Chilton"))));
+    }
+
+    @Test
+    public void readsLinesAndCharactersSpanningBufferBoundaries() {
+        List<Book> expected = new ArrayList<>();
+        StringBuilder input = new StringBuilder();
+        for (int i = 0; i < 2000; i++) {
+            String title = "Tétré ☃ 𝄞 " + i + repeat('x', i % 97 == 0 ? 40 * 1024 : i % 31);
+            Book book = new Book(title, new Author("Émile", "Zola" + (i % 7)), new Publisher("Pé" + (i % 3)));
+            expected.add(book);
+            input.append(title).append(',').append("Émile").append(',').append("Zola").append(i % 7).append(',')
+                 .append("Pé").append(i % 3).append('\n');
+        }
+        byte[] encoded = input.toString().getBytes(StandardCharsets.UTF_8);
+
+        assertThat(read(new BookReader(Channels.newChannel(new ByteArrayInputStream(encoded)),
+                                       StandardCharsets.UTF_8, ',')), equalTo(expected));
+        assertThat(read(new BookReader(new TricklingChannel(encoded, 7), StandardCharsets.UTF_8, ',')),
+                   equalTo(expected));
+    }
+
+    @Test
+    public void internsAuthorsAndPublishers() {
+        List<Book> books = read("A,Frank,Herbert,Chilton\nB,Frank,Herbert,Chilton\n", ',');
+
+        assertThat(books.get(0).getAuthor(), is(sameInstance(books.get(1).getAuthor())));
+        assertThat(books.get(0).getPublisher(), is(sameInstance(books.get(1).getPublisher())));
+    }
+
+    @Test
+    public void rejectsLinesWithTooFewFields() {
+        assertMalformed("Dune,Frank,Herbert,Chilton\nEmma,Jane,Austen\n", "line 2");
+    }
+
+    @Test
+    public void rejectsLinesWithTooManyFields() {
+        assertMalformed("Dune,Frank,Herbert,Chilton,1965\n", "line 1");
+    }
+
+    @Test(expected = UncheckedIOException.class)
+    public void throwsUncheckedIOExceptionForMalformedInput() {
+        byte[] invalid = {'D', ',', 'F', ',', 'H', ',', (byte) 0xC3, (byte) 0x28, '\n'};
+        read(new BookReader(Channels.newChannel(new ByteArrayInputStream(invalid)), StandardCharsets.UTF_8, ','));
+    }
+
+    @Test
+    public void opensUtf8FileAndClosesItWithTheStream() throws IOException {
+        Path file = folder.newFile().toPath();
+        Files.write(file, "Düne,Frank,Herbert,Chilton\n".getBytes(StandardCharsets.UTF_8));
+        TricklingChannel channel = new TricklingChannel(Files.readAllBytes(file), 1024);
+
+        try (Stream<Book> books = BookReader.open(file, ',').books()) {
+            assertThat(books.map(book -> book.getTitle()).collect(toList()), contains("Düne"));
+        }
+        try (Stream<Book> books = new BookReader(channel, StandardCharsets.UTF_8, ',').books()) {
+            assertThat(books.count(), equalTo(1L));
+        }
+        assertThat(channel.isOpen(), is(false));
+    }
+
+    private static void assertMalformed(String input, String expectedMessage) {
+        try {
+            read(input, ',');
+            fail("Expected IllegalArgumentException");
+        } catch (IllegalArgumentException e) {
+            assertThat(e.getMessage(), containsString(expectedMessage));
+        }
+    }
+
+    private static List<Book> read(String input, char delimiter) {
+        byte[] encoded = input.getBytes(StandardCharsets.UTF_8);
+        return read(new BookReader(Channels.newChannel(new ByteArrayInputStream(encoded)), StandardCharsets.UTF_8,
+                                   delimiter));
+    }
+
+    private static List<Book> read(BookReader reader) {
+        try (Stream<Book> books = reader.books()) {
+            return books.collect(toList());
+        }
+    }
+
+    private static String repeat(char c, int count) {
+        StringBuilder builder = new StringBuilder(count);
+        for (int i = 0; i < count; i++) {
+            builder.append(c);
+        }
+        return builder.toString();
+    }
+
+    /**
+     * Delivers at most a few bytes per read, so that multi-byte characters are split between reads.
+     */
+    private static final class TricklingChannel implements ReadableByteChannel {
+        private final ByteBuffer source;
+        private final int maxPerRead;
+        private boolean open = true;
+
+        TricklingChannel(byte[] bytes, int maxPerRead) {
+            this.source = ByteBuffer.wrap(bytes);
+            this.maxPerRead = maxPerRead;
+        }
+
+        @Override
+        public int read(ByteBuffer destination) {
+            if (!source.hasRemaining()) {
+                return -1;
+            }
+            int count = Math.min(maxPerRead, Math.min(source.remaining(), destination.remaining()));
+            for (int i = 0; i < count; i++) {
+                destination.put(source.get());
+            }
+            return count;
+        }
+
+        @Override
+        public boolean isOpen() {
+            return open;
+        }
+
+        @Override
+        public void close() {
+            open = false;
+        }
+    }
+}
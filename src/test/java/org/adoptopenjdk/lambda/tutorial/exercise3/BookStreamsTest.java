@@ -0,0 +1,62 @@
+package org.adoptopenjdk.lambda.tutorial.exercise3;
+
+/*
+ * #%L
+ * lambda-tutorial
+ * %%
+ * Copyright (C) 2013 Adopt OpenJDK
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 2 of the 
+ * License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public 
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/gpl-2.0.html>.
+ * #L%
+ */
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+
+public class BookStreamsTest {
+
+    private final Publisher penguin = new Publisher("Penguin");
+    private final Publisher faber = new Publisher("Faber");
+    private final List<Book> books = Arrays.asList(
+            new Book("First", new Author("Ann", "Able"), penguin),
+            new Book("Second", new Author("Bob", "Baker"), faber),
+            new Book("Third", new Author("Ann", "Able"), penguin));
+
+    @Test
+    public void projectsTitlesInOrder() {
+        assertThat(BookStreams.titlesOf(books.stream()), contains("First", "Second", "Third"));
+    }
+
+    @Test
+    public void projectsNamesOfAuthorsInOrder() {
+        assertThat(BookStreams.namesOfAuthorsOf(books.stream()), contains("Ann Able", "Bob Baker", "Ann Able"));
+    }
+
+    @Test
+    public void projectsDistinctPublishers() {
+        assertThat(BookStreams.publishersRepresentedBy(books.stream()), containsInAnyOrder(penguin, faber));
+    }
+
+    @Test
+    public void projectsParallelStreamInOrder() {
+        assertThat(BookStreams.titlesOf(books.parallelStream()), contains("First", "Second", "Third"));
+    }
+}
@@ -0,0 +1,75 @@
+package org.adoptopenjdk.lambda.tutorial.exercise3;
+
+/*
+ * #%L
+ * lambda-tutorial
+ * %%
+ * Copyright (C) 2013 Adopt OpenJDK
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 2 of the 
+ * License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public 
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/gpl-2.0.html>.
+ * #L%
+ */
+
+import org.junit.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.sameInstance;
+
+public class BookTest {
+
+    @Test
+    public void equalBooksHaveEqualHashCodes() {
+        Book book = new Book("Title", new Author("First", "Last"), new Publisher("Publisher"));
+        Book equal = new Book("Title", new Author("First", "Last"), new Publisher("Publisher"));
+
+        assertThat(book, equalTo(equal));
+        assertThat(book.hashCode(), equalTo(equal.hashCode()));
+    }
+
+    @Test
+    public void booksDifferingOnlyByAuthorAreNotEqual() {
+        Publisher publisher = new Publisher("Publisher");
+
+        assertThat(new Book("Title", new Author("First", "Last"), publisher),
+                   not(equalTo(new Book("Title", new Author("First", "Other"), publisher))));
+    }
+
+    @Test
+    public void canBeCreatedWithMissingFieldsAsBefore() {
+        Book book = new Book("Title", null, new Publisher(null));
+
+        assertThat(book.getAuthor(), nullValue());
+        assertThat(book.getPublisher().getName(), nullValue());
+        assertThat(new Author(null, "Last").hashCode(), equalTo(new Author(null, "Last").hashCode()));
+        assertThat(book.intern(), sameInstance(book.intern()));
+    }
+
+    @Test
+    public void interningGivesOneInstanceWithCanonicalAuthorAndPublisher() {
+        Author author = new Author("Interned", "Author").intern();
+        Publisher publisher = new Publisher("Interned Publisher").intern();
+
+        Book book = new Book("Interned", new Author("Interned", "Author"), new Publisher("Interned Publisher"));
+        Book canonical = book.intern();
+
+        assertThat(canonical, equalTo(book));
+        assertThat(new Book("Interned", author, publisher).intern(), sameInstance(canonical));
+        assertThat(canonical.getAuthor(), sameInstance(author));
+        assertThat(canonical.getPublisher(), sameInstance(publisher));
+    }
+}
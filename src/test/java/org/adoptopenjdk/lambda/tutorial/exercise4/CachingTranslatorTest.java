@@ -0,0 +1,221 @@
+package org.adoptopenjdk.lambda.tutorial.exercise4;
+
+/*
+ * #%L
+ * lambda-tutorial
+ * %%
+ * Copyright (C) 2013 Adopt OpenJDK
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 2 of the 
+ * License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public 
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/gpl-2.0.html>.
+ * #L%
+ */
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.Assert.fail;
+
+public class CachingTranslatorTest {
+
+    @Test
+    public void translatesRepeatedInputOnlyOnce() {
+        RecordingTranslator delegate = new RecordingTranslator();
+        CachingTranslator cache = CachingTranslator.boundedByEntries(delegate, 10);
+
+        assertThat(cache.translate("abc"), equalTo("cba"));
+        assertThat(cache.translate("abc"), equalTo("cba"));
+
+        assertThat(delegate.translated, contains("abc"));
+        assertThat(cache.hitCount(), equalTo(1L));
+        assertThat(cache.missCount(), equalTo(1L));
+        assertThat(cache.size(), equalTo(1L));
+    }
+
+    @Test
+    public void evictsLeastRecentlyUsedEntryBeyondMaximumEntries() {
+        RecordingTranslator delegate = new RecordingTranslator();
+        CachingTranslator cache = CachingTranslator.boundedByEntries(delegate, 3);
+        cache.translate("a");
+        cache.translate("b");
+        cache.translate("c");
+        cache.translate("a");
+
+        cache.translate("d");
+        cache.translate("a");
+        cache.translate("b");
+
+        assertThat(delegate.translated, contains("a", "b", "c", "d", "b"));
+        assertThat(cache.evictionCount(), equalTo(2L));
+        assertThat(cache.size(), equalTo(3L));
+    }
+
+    @Test
+    public void evictsLeastRecentlyUsedEntriesBeyondMaximumCharacters() {
+        RecordingTranslator delegate = new RecordingTranslator();
+        CachingTranslator cache = CachingTranslator.boundedByCharacters(delegate, 20);
+        cache.translate("aaaa");
+        cache.translate("bbbb");
+
+        cache.translate("ccccc");
+        cache.translate("bbbb");
+        cache.translate("aaaa");
+
+        assertThat(delegate.translated, contains("aaaa", "bbbb", "ccccc", "aaaa"));
+        assertThat(cache.evictionCount(), equalTo(2L));
+        assertThat(cache.size(), equalTo(2L));
+    }
+
+    @Test
+    public void countsBothInputAndTranslationTowardsMaximumCharacters() {
+        RecordingTranslator delegate = new RecordingTranslator();
+        CachingTranslator cache = CachingTranslator.boundedByCharacters(delegate, 20);
+
+        cache.translate("0123456789");
+        cache.translate("abcdefghij");
+
+        assertThat(cache.size(), equalTo(1L));
+        assertThat(cache.evictionCount(), equalTo(1L));
+    }
+
+    @Test
+    public void doesNotRetainTranslationLargerThanMaximumCharacters() {
+        CachingTranslator cache = CachingTranslator.boundedByCharacters(new RecordingTranslator(), 10);
+
+        assertThat(cache.translate("abcdefghij"), equalTo("jihgfedcba"));
+
+        assertThat(cache.size(), equalTo(0L));
+        assertThat(cache.evictionCount(), equalTo(1L));
+    }
+
+    @Test
+    public void translateAllDelegatesOnlyMissesAsOneBatchAndPreservesOrder() {
+        RecordingTranslator delegate = new RecordingTranslator();
+        CachingTranslator cache = CachingTranslator.boundedByEntries(delegate, 10);
+        cache.translate("b");
+
+        List<String> translated = cache.translateAll(Arrays.asList("ab", "b", "cd", "b"));
+
+        assertThat(translated, contains("ba", "b", "dc", "b"));
+        assertThat(delegate.batches, equalTo(Collections.singletonList(Arrays.asList("ab", "cd"))));
+        assertThat(cache.hitCount(), equalTo(2L));
+        assertThat(cache.missCount(), equalTo(3L));
+    }
+
+    @Test
+    public void translateAllDoesNotCallDelegateWhenEverythingIsCached() {
+        RecordingTranslator delegate = new RecordingTranslator();
+        CachingTranslator cache = CachingTranslator.boundedByEntries(delegate, 10);
+        cache.translateAll(Arrays.asList("ab", "cd"));
+
+        assertThat(cache.translateAll(Arrays.asList("cd", "ab")), contains("dc", "ba"));
+
+        assertThat(delegate.batches.size(), equalTo(1));
+    }
+
+    @Test
+    public void rejectsDelegateReturningWrongNumberOfTranslationsWithoutCachingAny() {
+        Translator shortChanging = new Translator() {
+            @Override
+            public String translate(String input) {
+                return input;
+            }
+
+            @Override
+            public List<String> translateAll(List<String> inputs) {
+                return inputs.subList(0, inputs.size() - 1);
+            }
+        };
+        CachingTranslator cache = CachingTranslator.boundedByEntries(shortChanging, 10);
+
+        try {
+            cache.translateAll(Arrays.asList("ab", "cd"));
+            fail("Expected wrong number of translations to be rejected");
+        } catch (IllegalStateException e) {
+            assertThat(e.getMessage(), equalTo("Translator returned 1 translations for 2 inputs"));
+        }
+        assertThat(cache.size(), equalTo(0L));
+    }
+
+    @Test
+    public void givesSameTranslationsWhenSharedBetweenThreads() throws Exception {
+        CachingTranslator cache = CachingTranslator.boundedByEntries(Translator.Languages.REVERSISH, 64);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<Boolean>> results = new ArrayList<>();
+            for (int thread = 0; thread < 4; thread++) {
+                results.add(executor.submit(() -> {
+                    for (int i = 0; i < 10 * 1000; i++) {
+                        String input = "page " + (i % 200);
+                        if (!cache.translate(input).equals(new StringBuilder(input).reverse().toString())) {
+                            return false;
+                        }
+                    }
+                    return true;
+                }));
+            }
+            for (Future<Boolean> result : results) {
+                assertThat(result.get(), equalTo(true));
+            }
+        } finally {
+            executor.shutdown();
+        }
+        assertThat(cache.hitCount() + cache.missCount(), equalTo(40 * 1000L));
+        assertThat(cache.size() <= 64, equalTo(true));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsNonPositiveMaximumEntries() {
+        CachingTranslator.boundedByEntries(new RecordingTranslator(), 0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsNonPositiveMaximumCharacters() {
+        CachingTranslator.boundedByCharacters(new RecordingTranslator(), 0);
+    }
+
+    /**
+     * Reverses its input, recording each input and batch it is asked to translate.
+     */
+    private static final class RecordingTranslator implements Translator {
+        private final List<String> translated = Collections.synchronizedList(new ArrayList<>());
+        private final List<List<String>> batches = Collections.synchronizedList(new ArrayList<>());
+
+        @Override
+        public String translate(String input) {
+            translated.add(input);
+            return new StringBuilder(input).reverse().toString();
+        }
+
+        @Override
+        public List<String> translateAll(List<String> inputs) {
+            batches.add(new ArrayList<>(inputs));
+            List<String> translations = new ArrayList<>(inputs.size());
+            for (String input : inputs) {
+                translations.add(new StringBuilder(input).reverse().toString());
+            }
+            return translations;
+        }
+    }
+}
@@ -0,0 +1,202 @@
+package org.adoptopenjdk.lambda.tutorial.exercise4;
+
+/*
+ * #%L
+ * lambda-tutorial
+ * %%
+ * Copyright (C) 2013 Adopt OpenJDK
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 2 of the 
+ * License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public 
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/gpl-2.0.html>.
+ * #L%
+ */
+
+import org.adoptopenjdk.lambda.tutorial.exercise4.Document.Page;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.Assert.fail;
+
+public class DocumentFileTest {
+
+    @Rule public TemporaryFolder folder = new TemporaryFolder();
+
+    private final Document document = new Document("Café ☕", Arrays.asList(
+            new Page("First page"), new Page(""), new Page("Naïve résumé"), new Page("Last page ✓")));
+
+    @Test
+    public void mappedDocumentHasSameTitleAndPages() throws IOException {
+        Document mapped = DocumentFile.map(written(document));
+
+        assertThat(mapped.getTitle(), equalTo("Café ☕"));
+        assertThat(mapped.getPages().stream().map(Page::getContent).collect(Collectors.toList()),
+                   contains("First page", "", "Naïve résumé", "Last page ✓"));
+    }
+
+    @Test
+    public void mappedDocumentPrintsAndTranslatesAsTheOriginal() throws IOException {
+        Document mapped = DocumentFile.map(written(document));
+        PagePrinter printer = new PagePrinter("----");
+
+        assertThat(Documents.print(mapped, printer), equalTo(Documents.print(document, printer)));
+        assertThat(Documents.pageCharacterCounts(mapped), equalTo(Documents.pageCharacterCounts(document)));
+        assertThat(Documents.print(Documents.translate(mapped, Translator.Languages.REVERSISH), printer),
+                   equalTo(Documents.print(Documents.translate(document, Translator.Languages.REVERSISH), printer)));
+    }
+
+    @Test
+    public void mappedDocumentIndexesPagesByCharacterLength() throws IOException {
+        Document mapped = DocumentFile.map(written(document));
+
+        assertThat(mapped.pageLengths().boxed().collect(Collectors.toList()), contains(10, 0, 12, 11));
+        assertThat(mapped.length(), equalTo(33L));
+        assertThat(mapped.offsetOf(2), equalTo(10L));
+        assertThat(mapped.pageAt(9), equalTo(0));
+        assertThat(mapped.pageAt(10), equalTo(2));
+        assertThat(mapped.pageAt(32), equalTo(3));
+    }
+
+    @Test
+    public void decodesPageAfreshEachTimeItIsAccessed() throws IOException {
+        Document mapped = DocumentFile.map(written(document));
+
+        Page first = mapped.getPages().get(2);
+        Page second = mapped.getPages().get(2);
+
+        assertThat(first, not(sameInstance(second)));
+        assertThat(first.getContent(), equalTo(second.getContent()));
+    }
+
+    @Test
+    public void roundTripsDocumentWithNoPages() throws IOException {
+        Document mapped = DocumentFile.map(written(new Document("Empty", Collections.emptyList())));
+
+        assertThat(mapped.getTitle(), equalTo("Empty"));
+        assertThat(mapped.getPages().size(), equalTo(0));
+        assertThat(mapped.length(), equalTo(0L));
+    }
+
+    @Test
+    public void rewritingMappedDocumentGivesIdenticalFile() throws IOException {
+        Path original = written(document.copyWithFooter());
+        Path copy = folder.newFile().toPath();
+
+        DocumentFile.write(copy, DocumentFile.map(original));
+
+        assertThat(Files.readAllBytes(copy), equalTo(Files.readAllBytes(original)));
+    }
+
+    @Test
+    public void rewritesMappedDocumentOntoItsOwnFile() throws IOException {
+        String content = String.join("", Collections.nCopies(16 * 1024, "Naïve résumé ✓ "));
+        Document large = new Document("Large", Arrays.asList(new Page(content), new Page(""), new Page(content)));
+        Path file = written(large);
+        byte[] expected = Files.readAllBytes(file);
+
+        DocumentFile.write(file, DocumentFile.map(file));
+
+        assertThat(Files.readAllBytes(file), equalTo(expected));
+    }
+
+    @Test
+    public void failedWriteLeavesExistingFileAndNoTemporaryFile() throws IOException {
+        Path file = written(document);
+        byte[] original = Files.readAllBytes(file);
+        Document failing = Document.adopting("Failing", new AbstractList<Page>() {
+            @Override
+            public Page get(int index) {
+                if (index > 0) {
+                    throw new IllegalStateException("Page " + index + " is unreadable");
+                }
+                return new Page("First page");
+            }
+
+            @Override
+            public int size() {
+                return 2;
+            }
+        });
+
+        try {
+            DocumentFile.write(file, failing);
+            fail("Expected the unreadable page to fail the write");
+        } catch (IllegalStateException expected) {
+        }
+
+        assertThat(Files.readAllBytes(file), equalTo(original));
+        try (Stream<Path> files = Files.list(file.getParent())) {
+            String name = file.getFileName().toString();
+            assertThat(files.filter(f -> !f.equals(file) && f.getFileName().toString().startsWith(name)).count(),
+                       equalTo(0L));
+        }
+    }
+
+    @Test(expected = IOException.class)
+    public void rejectsFileWithoutMagicNumber() throws IOException {
+        Path file = folder.newFile().toPath();
+        Files.write(file, new byte[64]);
+
+        DocumentFile.map(file);
+    }
+
+    @Test(expected = IOException.class)
+    public void rejectsTruncatedHeader() throws IOException {
+        byte[] bytes = Files.readAllBytes(written(document));
+        Path file = folder.newFile().toPath();
+        Files.write(file, Arrays.copyOf(bytes, 6));
+
+        DocumentFile.map(file);
+    }
+
+    @Test(expected = IOException.class)
+    public void rejectsPageCountLargerThanFile() throws IOException {
+        Path file = written(document);
+        byte[] bytes = Files.readAllBytes(file);
+        ByteBuffer.wrap(bytes).putInt(Integer.BYTES, Integer.MAX_VALUE);
+        Files.write(file, bytes);
+
+        DocumentFile.map(file);
+    }
+
+    @Test(expected = IOException.class)
+    public void rejectsPageOffsetsBeyondEndOfFile() throws IOException {
+        Path file = written(document);
+        byte[] bytes = Files.readAllBytes(file);
+        Files.write(file, Arrays.copyOf(bytes, bytes.length - 1));
+
+        DocumentFile.map(file);
+    }
+
+    private Path written(Document document) throws IOException {
+        Path file = folder.newFile().toPath();
+        DocumentFile.write(file, document);
+        return file;
+    }
+}
@@ -0,0 +1,241 @@
+package org.adoptopenjdk.lambda.tutorial.exercise4;
+
+/*
+ * #%L
+ * lambda-tutorial
+ * %%
+ * Copyright (C) 2013 Adopt OpenJDK
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 2 of the 
+ * License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public 
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/gpl-2.0.html>.
+ * #L%
+ */
+
+import org.adoptopenjdk.lambda.tutorial.exercise4.Document.Page;
+import org.junit.After;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static java.lang.String.format;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.Assert.fail;
+
+public class DocumentPipelineTest {
+
+    private static final String PAGE_BREAK = "----";
+
+    private final PagePrinter printer = new PagePrinter(PAGE_BREAK);
+    private final ExecutorService executor = Executors.newFixedThreadPool(4);
+
+    @After
+    public void shutDownExecutor() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void printsSameOutputAsTranslatingThenAddingFootersThenPrinting() throws IOException {
+        Document document = documentOf(100);
+        StringWriter sink = new StringWriter();
+
+        new DocumentPipeline(Translator.Languages.REVERSISH, printer, executor, 4).run(document, sink);
+
+        String expected = Documents.print(
+                Documents.translate(document, Translator.Languages.REVERSISH).copyWithFooter(), printer);
+        assertThat(sink.toString(), equalTo(expected));
+    }
+
+    @Test
+    public void printsSameOutputWhenWindowIsLargerThanDocument() throws IOException {
+        Document document = documentOf(3);
+        StringWriter sink = new StringWriter();
+
+        new DocumentPipeline(Translator.Languages.REVERSISH, printer, executor, 16).run(document, sink);
+
+        String expected = Documents.print(
+                Documents.translate(document, Translator.Languages.REVERSISH).copyWithFooter(), printer);
+        assertThat(sink.toString(), equalTo(expected));
+    }
+
+    @Test
+    public void printsTitleOfDocumentWithNoPages() throws IOException {
+        StringWriter sink = new StringWriter();
+
+        new DocumentPipeline(Translator.Languages.REVERSISH, printer, executor, 4)
+                .run(new Document("Title", Collections.emptyList()), sink);
+
+        assertThat(sink.toString(), equalTo(printer.printTitlePage(new Document("eltiT", Collections.emptyList()))));
+    }
+
+    @Test
+    public void startsPrintingBeforeLastPageIsTranslatedAndKeepsAtMostWindowInFlight() throws IOException {
+        int window = 3;
+        PageCountingWriter sink = new PageCountingWriter();
+        List<Integer> printedWhenTranslated = new ArrayList<>();
+        Translator translator = input -> {
+            if (input.startsWith("page")) {
+                printedWhenTranslated.add(sink.pagesPrinted());
+            }
+            return input;
+        };
+
+        new DocumentPipeline(translator, printer, Runnable::run, window).run(documentOf(20), sink);
+
+        assertThat(printedWhenTranslated.size(), equalTo(20));
+        assertThat(printedWhenTranslated.get(19), greaterThan(0));
+        for (int page = 0; page < 20; page++) {
+            assertThat(page - printedWhenTranslated.get(page), lessThanOrEqualTo(window));
+        }
+    }
+
+    @Test
+    public void rethrowsTranslatorFailureWithoutTranslatingRemainingPages() throws IOException {
+        int window = 2;
+        RuntimeException failure = new IllegalStateException("cannot translate page 3");
+        AtomicInteger translatedPages = new AtomicInteger();
+        Translator translator = input -> {
+            if (input.equals("page 3")) {
+                throw failure;
+            }
+            if (input.startsWith("page")) {
+                translatedPages.incrementAndGet();
+            }
+            return input;
+        };
+        ExecutorService singleThread = Executors.newSingleThreadExecutor();
+
+        try {
+            new DocumentPipeline(translator, printer, singleThread, window).run(documentOf(100), new StringWriter());
+            fail("Expected translator failure to be rethrown");
+        } catch (IllegalStateException e) {
+            assertThat(e, sameInstance(failure));
+        } finally {
+            singleThread.shutdown();
+        }
+
+        assertThat(translatedPages.get(), lessThanOrEqualTo(3 + window));
+    }
+
+    @Test
+    public void cancelsTranslationsNotYetStartedWhenPrintingFails() throws Exception {
+        List<String> translated = Collections.synchronizedList(new ArrayList<>());
+        Translator translator = input -> {
+            translated.add(input);
+            return input;
+        };
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService blocked = Executors.newSingleThreadExecutor();
+        blocked.execute(() -> awaitUninterruptibly(release));
+        AtomicBoolean titleSubmitted = new AtomicBoolean();
+        Executor titleNowPagesLater = task -> {
+            if (titleSubmitted.getAndSet(true)) {
+                blocked.execute(task);
+            } else {
+                task.run();
+            }
+        };
+        Writer failingSink = new Writer() {
+            @Override
+            public void write(char[] chars, int offset, int length) throws IOException {
+                throw new IOException("sink closed");
+            }
+
+            @Override
+            public void flush() {
+            }
+
+            @Override
+            public void close() {
+            }
+        };
+
+        try {
+            new DocumentPipeline(translator, printer, titleNowPagesLater, 4).run(documentOf(10), failingSink);
+            fail("Expected sink failure to be rethrown");
+        } catch (IOException e) {
+            assertThat(e.getMessage(), equalTo("sink closed"));
+        } finally {
+            release.countDown();
+            blocked.shutdown();
+            blocked.awaitTermination(10, TimeUnit.SECONDS);
+        }
+
+        assertThat(translated, contains("Title"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsNonPositiveWindow() {
+        new DocumentPipeline(Translator.Languages.REVERSISH, printer, executor, 0);
+    }
+
+    private static Document documentOf(int pageCount) {
+        List<Page> pages = new ArrayList<>(pageCount);
+        for (int i = 0; i < pageCount; i++) {
+            pages.add(new Page("page " + i));
+        }
+        return new Document("Title", pages);
+    }
+
+    private static void awaitUninterruptibly(CountDownLatch latch) {
+        boolean interrupted = false;
+        while (true) {
+            try {
+                latch.await();
+                break;
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Counts the pages printed to it, not including the title page, by the page ends written.
+     */
+    private static final class PageCountingWriter extends StringWriter {
+        private final String pageEnd = format("%n%s%n", PAGE_BREAK);
+        private int pageEnds;
+
+        @Override
+        public void write(String str) {
+            super.write(str);
+            if (str.equals(pageEnd)) {
+                pageEnds++;
+            }
+        }
+
+        int pagesPrinted() {
+            return Math.max(0, pageEnds - 1);
+        }
+    }
+}
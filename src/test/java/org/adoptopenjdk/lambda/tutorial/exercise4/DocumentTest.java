@@ -0,0 +1,169 @@
+package org.adoptopenjdk.lambda.tutorial.exercise4;
+
+/*
+ * #%L
+ * lambda-tutorial
+ * %%
+ * Copyright (C) 2013 Adopt OpenJDK
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 2 of the 
+ * License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public 
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/gpl-2.0.html>.
+ * #L%
+ */
+
+import org.adoptopenjdk.lambda.tutorial.exercise4.Document.Page;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.stream.Collectors;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.Assert.fail;
+
+public class DocumentTest {
+
+    private final Document document = new Document("Title", Arrays.asList(
+            new Page(""), new Page("abc"), new Page(""), new Page(""), new Page("de"), new Page("")));
+
+    @Test
+    public void indexesLengthsAndOffsetsOfPages() {
+        assertThat(document.pageLengths().boxed().collect(Collectors.toList()),
+                   equalTo(Arrays.asList(0, 3, 0, 0, 2, 0)));
+        assertThat(document.length(), equalTo(5L));
+        assertThat(document.offsetOf(0), equalTo(0L));
+        assertThat(document.offsetOf(1), equalTo(0L));
+        assertThat(document.offsetOf(2), equalTo(3L));
+        assertThat(document.offsetOf(4), equalTo(3L));
+        assertThat(document.offsetOf(5), equalTo(5L));
+    }
+
+    @Test
+    public void pageAtSkipsEmptyPages() {
+        assertThat(document.pageAt(0), equalTo(1));
+        assertThat(document.pageAt(2), equalTo(1));
+        assertThat(document.pageAt(3), equalTo(4));
+        assertThat(document.pageAt(4), equalTo(4));
+    }
+
+    @Test
+    public void pageAtRejectsOffsetsOutsideTheDocument() {
+        for (long offset : new long[] { -1, 5, Long.MAX_VALUE }) {
+            try {
+                document.pageAt(offset);
+                fail("Expected offset " + offset + " to be rejected");
+            } catch (IndexOutOfBoundsException expected) {
+            }
+        }
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void offsetOfRejectsPageAfterLast() {
+        document.offsetOf(6);
+    }
+
+    @Test
+    public void documentOfEmptyPagesHasNoPageAtAnyOffset() {
+        Document empty = new Document("Empty", Arrays.asList(new Page(""), new Page("")));
+
+        assertThat(empty.length(), equalTo(0L));
+        try {
+            empty.pageAt(0);
+            fail("Expected a document without content to have no page at offset 0");
+        } catch (IndexOutOfBoundsException expected) {
+        }
+    }
+
+    @Test
+    public void documentWithoutPagesHasZeroLength() {
+        Document empty = new Document("Empty", Collections.<Page>emptyList());
+
+        assertThat(empty.length(), equalTo(0L));
+        assertThat(empty.pageLengths().count(), equalTo(0L));
+    }
+
+    @Test
+    public void copyWithFooterIndexesLengthsIncludingFooter() {
+        int footerLength = Document.footerFor("Title").length();
+
+        assertThat(document.copyWithFooter().pageLengths().boxed().collect(Collectors.toList()),
+                   equalTo(Arrays.asList(footerLength, 3 + footerLength, footerLength, footerLength,
+                                         2 + footerLength, footerLength)));
+    }
+
+    @Test
+    public void pageRejectsNullContent() {
+        try {
+            new Page(null);
+            fail("Expected a page without content to be rejected");
+        } catch (NullPointerException expected) {
+            assertThat(expected.getMessage(), equalTo("Page content must not be null"));
+        }
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void pageRejectsNullSuffix() {
+        new Page("content").append(null);
+    }
+
+    @Test
+    public void derivedPageHasContentOfBaseFollowedBySuffix() throws IOException {
+        Page derived = new Page("Naïve ").append("résumé").append(" ✓");
+
+        assertThat(derived.segments(), equalTo(Arrays.asList("Naïve ", "résumé", " ✓")));
+        assertThat(derived.getContent(), equalTo("Naïve résumé ✓"));
+        assertThat(derived.length(), equalTo("Naïve résumé ✓".length()));
+        assertThat(derived.appendTo(new StringBuilder("> ")).toString(), equalTo("> Naïve résumé ✓"));
+        assertThat(derived.appendTo(new StringWriter()).toString(), equalTo("Naïve résumé ✓"));
+    }
+
+    @Test
+    public void derivedPageKeepsContentOnceConcatenated() {
+        Page derived = new Page("base").append(" suffix");
+
+        String content = derived.getContent();
+
+        assertThat(derived.getContent(), sameInstance(content));
+        assertThat(derived.segments(), equalTo(Arrays.asList("base suffix")));
+    }
+
+    @Test
+    public void pageDerivedFromConcatenatedPageReusesItsContent() {
+        Page middle = new Page("base").append(" middle");
+        middle.getContent();
+
+        Page derived = middle.append(" suffix");
+
+        assertThat(derived.segments(), equalTo(Arrays.asList("base middle", " suffix")));
+        assertThat(derived.getContent(), equalTo("base middle suffix"));
+    }
+
+    @Test
+    public void contentOfDeeplyDerivedPageIsReadWithoutExhaustingTheStack() throws IOException {
+        int depth = 100_000;
+        Page page = new Page("");
+        for (int i = 0; i < depth; i++) {
+            page = page.append("x");
+        }
+
+        assertThat(page.segments().size(), equalTo(depth + 1));
+        assertThat(page.appendTo(new StringWriter()).toString().length(), equalTo(depth));
+        assertThat(page.appendTo(new StringBuilder()).length(), equalTo(depth));
+        assertThat(page.getContent().length(), equalTo(depth));
+    }
+}
@@ -0,0 +1,79 @@
+package org.adoptopenjdk.lambda.tutorial.exercise4;
+
+/*
+ * #%L
+ * lambda-tutorial
+ * %%
+ * Copyright (C) 2013 Adopt OpenJDK
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 2 of the 
+ * License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public 
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/gpl-2.0.html>.
+ * #L%
+ */
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.sameInstance;
+
+public class DocumentTitlesTest {
+
+    private final Document first = new Document("First", Collections.emptyList());
+    private final Document second = new Document("Second", Collections.emptyList());
+
+    @Test
+    public void takesTitlesOfFewDocumentsInOrder() {
+        assertThat(DocumentTitles.titlesOfInParallel(first, second), contains("First", "Second"));
+    }
+
+    @Test
+    public void takesTitlesOfManyDocumentsInParallelInOrder() {
+        Document[] documents = new Document[20 * 1000];
+        List<String> expected = new ArrayList<>(documents.length);
+        for (int i = 0; i < documents.length; i++) {
+            documents[i] = new Document("Document " + i, Collections.emptyList());
+            expected.add("Document " + i);
+        }
+
+        assertThat(DocumentTitles.titlesOfInParallel(documents), equalTo(expected));
+    }
+
+    @Test
+    public void writesTitlesIntoCallersArray() {
+        String[] titles = new String[3];
+
+        assertThat(DocumentTitles.titlesInto(titles, first, second), sameInstance(titles));
+        assertThat(titles, equalTo(new String[] { "First", "Second", null }));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsArrayTooShortForTitles() {
+        DocumentTitles.titlesInto(new String[1], first, second);
+    }
+
+    @Test
+    public void passesEachTitleInOrder() {
+        List<String> titles = new ArrayList<>();
+
+        DocumentTitles.forEachTitle(title -> titles.add(title), first, second);
+
+        assertThat(titles, contains("First", "Second"));
+    }
+}
@@ -0,0 +1,191 @@
+package org.adoptopenjdk.lambda.tutorial.exercise4;
+
+/*
+ * #%L
+ * lambda-tutorial
+ * %%
+ * Copyright (C) 2013 Adopt OpenJDK
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 2 of the 
+ * License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public 
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/gpl-2.0.html>.
+ * #L%
+ */
+
+import org.adoptopenjdk.lambda.tutorial.exercise4.Document.Page;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.Assert.fail;
+
+public class DocumentTranslationTest {
+
+    private final PagePrinter printer = new PagePrinter("----");
+
+    @Test
+    public void translatesConcurrentlyToSameDocumentAsSequentially() {
+        Document document = documentOf(1000, 10);
+
+        Document translated = DocumentTranslation.translate(document, Translator.Languages.REVERSISH,
+                                                            ForkJoinPool.commonPool());
+
+        assertThat(Documents.print(translated, printer),
+                   equalTo(Documents.print(Documents.translate(document, Translator.Languages.REVERSISH), printer)));
+    }
+
+    @Test
+    public void batchesAtMostSixtyFourPages() {
+        RecordingTranslator translator = new RecordingTranslator();
+
+        DocumentTranslation.translate(documentOf(130, 10), translator, Runnable::run);
+
+        assertThat(translator.batchSizes, equalTo(Arrays.asList(64, 64, 2)));
+    }
+
+    @Test
+    public void batchesAtMostSixtyFourThousandCharactersUnlessPageIsLarger() {
+        RecordingTranslator translator = new RecordingTranslator();
+        List<Page> pages = new ArrayList<>();
+        pages.add(new Page(repeat('a', 40 * 1024)));
+        pages.add(new Page(repeat('b', 24 * 1024)));
+        pages.add(new Page(repeat('c', 1)));
+        pages.add(new Page(repeat('d', 100 * 1024)));
+        pages.add(new Page(repeat('e', 1)));
+
+        DocumentTranslation.translate(new Document("Title", pages), translator, Runnable::run);
+
+        assertThat(translator.batchSizes, equalTo(Arrays.asList(2, 1, 1, 1)));
+    }
+
+    @Test
+    public void rethrowsTranslatorFailureAndCancelsBatchesNotYetStarted() throws Exception {
+        RuntimeException failure = new IllegalStateException("cannot translate");
+        AtomicInteger batchesTranslated = new AtomicInteger();
+        Translator translator = new Translator() {
+            @Override
+            public String translate(String input) {
+                return input;
+            }
+
+            @Override
+            public List<String> translateAll(List<String> inputs) {
+                if (batchesTranslated.getAndIncrement() == 0) {
+                    throw failure;
+                }
+                return inputs;
+            }
+        };
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService blocked = Executors.newSingleThreadExecutor();
+        blocked.execute(() -> awaitUninterruptibly(release));
+        AtomicInteger submitted = new AtomicInteger();
+        Executor titleAndFirstBatchNowOthersLater = task -> {
+            if (submitted.getAndIncrement() < 2) {
+                task.run();
+            } else {
+                blocked.execute(task);
+            }
+        };
+
+        try {
+            DocumentTranslation.translate(documentOf(640, 10), translator, titleAndFirstBatchNowOthersLater);
+            fail("Expected translator failure to be rethrown");
+        } catch (IllegalStateException e) {
+            assertThat(e, sameInstance(failure));
+        } finally {
+            release.countDown();
+            blocked.shutdown();
+            blocked.awaitTermination(10, TimeUnit.SECONDS);
+        }
+
+        assertThat(batchesTranslated.get(), equalTo(1));
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void rejectsTranslatorReturningWrongNumberOfTranslations() {
+        Translator translator = new Translator() {
+            @Override
+            public String translate(String input) {
+                return input;
+            }
+
+            @Override
+            public List<String> translateAll(List<String> inputs) {
+                return inputs.subList(1, inputs.size());
+            }
+        };
+
+        DocumentTranslation.translate(documentOf(3, 10), translator, Runnable::run);
+    }
+
+    private static Document documentOf(int pageCount, int pageLength) {
+        List<Page> pages = new ArrayList<>(pageCount);
+        for (int i = 0; i < pageCount; i++) {
+            pages.add(new Page(repeat((char) ('a' + i % 26), pageLength)));
+        }
+        return new Document("Title", pages);
+    }
+
+    private static String repeat(char c, int count) {
+        char[] chars = new char[count];
+        Arrays.fill(chars, c);
+        return new String(chars);
+    }
+
+    private static void awaitUninterruptibly(CountDownLatch latch) {
+        boolean interrupted = false;
+        while (true) {
+            try {
+                latch.await();
+                break;
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Returns its input unchanged, recording the size of each batch it is asked to translate.
+     */
+    private static final class RecordingTranslator implements Translator {
+        private final List<Integer> batchSizes = Collections.synchronizedList(new ArrayList<>());
+
+        @Override
+        public String translate(String input) {
+            return input;
+        }
+
+        @Override
+        public List<String> translateAll(List<String> inputs) {
+            batchSizes.add(inputs.size());
+            return inputs;
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package org.adoptopenjdk.lambda.tutorial.exercise4;
+
+/*
+ * #%L
+ * lambda-tutorial
+ * %%
+ * Copyright (C) 2013 Adopt OpenJDK
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 2 of the 
+ * License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public 
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/gpl-2.0.html>.
+ * #L%
+ */
+
+import org.adoptopenjdk.lambda.tutorial.exercise4.Document.Page;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+
+public class PagePrinterTest {
+
+    private final PagePrinter printer = new PagePrinter("— ✂ —");
+
+    @Test
+    public void printsPlainDocumentAsDocumentsDoes() throws IOException {
+        Document document = new Document("Title", Arrays.asList(new Page("One"), new Page(""), new Page("Three")));
+
+        assertPrintsAsDocumentsDoes(document);
+    }
+
+    @Test
+    public void printsPagesWithFootersAsDocumentsDoes() throws IOException {
+        Document document = new Document("Café ☕", Arrays.asList(
+                new Page("Naïve résumé"), new Page(""), new Page("Emoji 😀 and 漢字"))).copyWithFooter();
+
+        assertPrintsAsDocumentsDoes(document);
+    }
+
+    @Test
+    public void printsPagesLongerThanTheEncodingBufferAsDocumentsDoes() throws IOException {
+        StringBuilder content = new StringBuilder();
+        while (content.length() < 40_000) {
+            content.append("a").append("é").append("😀").append("漢");
+        }
+        Document document = new Document("Long ✓", Arrays.asList(
+                new Page(content.toString()), new Page(content.substring(1)), new Page(content.substring(2))))
+                .copyWithFooter();
+
+        assertPrintsAsDocumentsDoes(document);
+    }
+
+    @Test
+    public void printsDocumentWithoutPagesAsDocumentsDoes() throws IOException {
+        assertPrintsAsDocumentsDoes(new Document("Empty ∅", Collections.<Page>emptyList()));
+    }
+
+    private void assertPrintsAsDocumentsDoes(Document document) throws IOException {
+        byte[] expected = Documents.print(document, printer).getBytes(StandardCharsets.UTF_8);
+
+        ByteArrayOutputStream written = new ByteArrayOutputStream();
+        try (Writer writer = new OutputStreamWriter(written, StandardCharsets.UTF_8)) {
+            printer.printTo(document, writer);
+        }
+        assertThat(written.toByteArray(), equalTo(expected));
+
+        ByteArrayOutputStream channelled = new ByteArrayOutputStream();
+        try (WritableByteChannel channel = Channels.newChannel(channelled)) {
+            printer.printTo(document, channel);
+        }
+        assertThat(channelled.toByteArray(), equalTo(expected));
+    }
+}
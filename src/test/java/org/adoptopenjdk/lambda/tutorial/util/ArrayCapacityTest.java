@@ -0,0 +1,60 @@
+package org.adoptopenjdk.lambda.tutorial.util;
+
+/*
+ * #%L
+ * lambda-tutorial
+ * %%
+ * Copyright (C) 2013 Adopt OpenJDK
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation, either version 2 of the 
+ * License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public 
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/gpl-2.0.html>.
+ * #L%
+ */
+
+import org.junit.Test;
+
+import static org.adoptopenjdk.lambda.tutorial.util.ArrayCapacity.MAX_ARRAY_SIZE;
+import static org.adoptopenjdk.lambda.tutorial.util.ArrayCapacity.grow;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+
+public class ArrayCapacityTest {
+
+    @Test
+    public void growsByHalfAgain() {
+        assertThat(grow(64, 65, MAX_ARRAY_SIZE), equalTo(96));
+    }
+
+    @Test
+    public void growsEmptyArrayToMinimumCapacity() {
+        assertThat(grow(0, 1, MAX_ARRAY_SIZE), equalTo(16));
+    }
+
+    @Test
+    public void growsToMinimumWhenHalfAgainIsNotEnough() {
+        assertThat(grow(64, 1000, MAX_ARRAY_SIZE), equalTo(1000));
+    }
+
+    @Test
+    public void clampsToMaximumInsteadOfOverflowing() {
+        int current = 1500 * 1000 * 1000;
+
+        assertThat(grow(current, current + 1L, MAX_ARRAY_SIZE), equalTo(MAX_ARRAY_SIZE));
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void rejectsGrowingBeyondMaximum() {
+        grow(MAX_ARRAY_SIZE, MAX_ARRAY_SIZE + 1L, MAX_ARRAY_SIZE);
+    }
+}